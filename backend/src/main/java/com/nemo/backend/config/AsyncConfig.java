@@ -0,0 +1,67 @@
+// src/main/java/com/nemo/backend/config/AsyncConfig.java
+package com.nemo.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 요청 스레드(Tomcat)와 분리해서 돌려야 하는 백그라운드 작업용 실행기 모음.
+ * - qrImportExecutor: QR 원격 자산 수집(fetch → validate → store) 전용, 크기 제한 있음
+ * - photoRenditionExecutor: 업로드 후 썸네일(축소본) 생성 전용. 디코딩이 메모리를 많이 쓰므로 동시 실행 수를 작게 둔다
+ * - s3AsyncExecutor: S3AsyncClient 응답 완료 콜백 실행용. Netty 이벤트 루프에서 후처리가 돌지 않도록 분리
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = "qrImportExecutor")
+    public ThreadPoolTaskExecutor qrImportExecutor(
+            @Value("${app.qr-import.executor.core-size:4}") int coreSize,
+            @Value("${app.qr-import.executor.max-size:8}") int maxSize,
+            @Value("${app.qr-import.executor.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        // 큐가 가득 차면 TaskRejectedException → 호출 측에서 429로 변환
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("qr-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = "photoRenditionExecutor")
+    public ThreadPoolTaskExecutor photoRenditionExecutor(
+            @Value("${app.photo.rendition.executor.core-size:2}") int coreSize,
+            @Value("${app.photo.rendition.executor.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(coreSize);
+        // 큐가 가득 차면 해당 사진은 원본을 썸네일로 계속 사용 (호출 측에서 로그만 남김)
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("photo-rendition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = "s3AsyncExecutor")
+    public ThreadPoolTaskExecutor s3AsyncExecutor(
+            @Value("${app.s3.async.executor.core-size:8}") int coreSize,
+            @Value("${app.s3.async.executor.max-size:32}") int maxSize,
+            @Value("${app.s3.async.executor.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        // 콜백은 짧게 끝나야 한다 (본문 복사 같은 긴 작업은 호출 측 스레드에서)
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("s3-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,18 +1,24 @@
 package com.nemo.backend.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 @Configuration
 public class S3Config {
@@ -64,4 +70,66 @@ public class S3Config {
         }
         return builder.build();
     }
+
+    /**
+     * 비동기 클라이언트 (Netty NIO). 응답을 기다리는 동안 스레드를 잡지 않으므로
+     * 동시 요청 수가 스레드/커넥션 풀 크기에 묶이지 않는다.
+     * 완료 콜백은 s3AsyncExecutor 에서 실행된다.
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient(
+            @Qualifier("s3AsyncExecutor") Executor completionExecutor,
+            @Value("${app.s3.async.max-concurrency:256}") int maxConcurrency,
+            @Value("${app.s3.async.max-pending-acquires:10000}") int maxPendingAcquires
+    ) {
+        var http = NettyNioAsyncHttpClient.builder()
+                .connectionTimeout(Duration.ofSeconds(5))
+                .readTimeout(Duration.ofSeconds(30))
+                .writeTimeout(Duration.ofSeconds(30))
+                .maxConcurrency(maxConcurrency)
+                .maxPendingConnectionAcquires(maxPendingAcquires)
+                .build();
+
+        var override = ClientOverrideConfiguration.builder()
+                .apiCallTimeout(Duration.ofSeconds(60))
+                .apiCallAttemptTimeout(Duration.ofSeconds(30))
+                .build();
+
+        var builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .httpClient(http)
+                .overrideConfiguration(override)
+                .asyncConfiguration(a -> a.advancedOption(
+                        SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, completionExecutor))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyle)
+                        .build());
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder = builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Presigned GET URL 발급용 (app.files.delivery=redirect 일 때 /files/** 가 302 로 넘겨줌).
+     * 클라이언트가 직접 접근하는 주소가 되므로 endpoint 는 외부에서 닿는 주소여야 한다.
+     */
+    @Bean
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyle)
+                        .build());
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder = builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,14 @@
+package com.nemo.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 활성화.
+ * - OrphanObjectSweeper: S3 고아 객체 정리 (app.storage.sweeper.enabled 일 때만 실제 동작)
+ * - PhotoboothCrawler: 지도 격자 칸 크롤링 대기열 처리 (app.map.crawler.enabled)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -9,7 +9,9 @@ import lombok.*;
 import java.util.List;
 
 @Entity
-@Table(name = "album")
+@Table(name = "album", indexes = {
+        @Index(name = "idx_album_cover_photo_url", columnList = "cover_photo_url") // 고아 정리 참조 확인
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Album extends BaseEntity {
@@ -27,6 +29,14 @@ public class Album extends BaseEntity {
     @Column(name = "cover_photo_url")
     private String coverPhotoUrl;
 
+    // 커버를 파일로 직접 업로드해 저장 참조를 하나 잡았는지 (사진에서 고른 커버/기존 행은 null → false)
+    @Column(name = "cover_photo_owned")
+    private Boolean coverPhotoOwned;
+
+    public boolean isCoverPhotoOwned() {
+        return Boolean.TRUE.equals(coverPhotoOwned);
+    }
+
     // 소유자 (User)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
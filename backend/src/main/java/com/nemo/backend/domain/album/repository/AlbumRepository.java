@@ -2,12 +2,27 @@
 package com.nemo.backend.domain.album.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.nemo.backend.domain.album.entity.Album;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 
     // ✅ 사용자가 소유한 앨범만 조회
     List<Album> findByUserId(Long userId);
+
+    // ✅ 고아 객체 정리: 주어진 URL 중 앨범 썸네일로 쓰이는 것
+    @Query("SELECT a.coverPhotoUrl FROM Album a WHERE a.coverPhotoUrl IN :urls")
+    List<String> findCoverPhotoUrlsIn(@Param("urls") Collection<String> urls);
+
+    // ✅ 고아 객체 정리: 저장된 썸네일 URL 의 '.../files/' 앞부분 종류
+    @Query("SELECT DISTINCT SUBSTRING(a.coverPhotoUrl, 1, LOCATE('/files/', a.coverPhotoUrl) + 6) FROM Album a " +
+            "WHERE LOCATE('/files/', a.coverPhotoUrl) > 0")
+    List<String> findCoverPhotoUrlFilesPrefixes();
+
+    // ✅ 교체된 앨범 썸네일 해제 전 다른 앨범이 같은 URL 을 쓰는지 확인
+    boolean existsByCoverPhotoUrl(String coverPhotoUrl);
 }
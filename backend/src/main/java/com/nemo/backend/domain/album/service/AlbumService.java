@@ -4,6 +4,7 @@ package com.nemo.backend.domain.album.service;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,6 +24,7 @@ import com.nemo.backend.domain.album.repository.AlbumRepository;
 import com.nemo.backend.domain.album.repository.AlbumShareRepository;
 import com.nemo.backend.domain.photo.entity.Photo;
 import com.nemo.backend.domain.photo.service.PhotoStorage;
+import com.nemo.backend.domain.photo.service.ReplacedFileReleaser;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
@@ -39,6 +41,7 @@ public class AlbumService {
     private final PhotoRepository photoRepository;
     private final AlbumFavoriteRepository albumFavoriteRepository;
     private final PhotoStorage photoStorage;
+    private final ReplacedFileReleaser replacedFileReleaser;
 
     private final String publicBaseUrl;
 
@@ -51,6 +54,7 @@ public class AlbumService {
             PhotoRepository photoRepository,
             AlbumFavoriteRepository albumFavoriteRepository,
             PhotoStorage photoStorage,
+            ReplacedFileReleaser replacedFileReleaser,
             @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl
     ) {
         this.albumRepository = albumRepository;
@@ -58,6 +62,7 @@ public class AlbumService {
         this.photoRepository = photoRepository;
         this.albumFavoriteRepository = albumFavoriteRepository;
         this.photoStorage = photoStorage;
+        this.replacedFileReleaser = replacedFileReleaser;
         this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
     }
 
@@ -234,7 +239,7 @@ public class AlbumService {
         photoRepository.saveAll(photos);
 
         if (album.getPhotos() == null || album.getPhotos().isEmpty()) {
-            album.setCoverPhotoUrl(null);
+            replaceCover(album, null, false);
         }
 
         return count;
@@ -271,6 +276,7 @@ public class AlbumService {
             photoRepository.saveAll(album.getPhotos());
         }
 
+        replacedFileReleaser.releaseAfterCommit(album.getCoverPhotoUrl(), album.isCoverPhotoOwned());
         albumRepository.delete(album);
     }
 
@@ -290,11 +296,13 @@ public class AlbumService {
         }
 
         String thumbnailUrl;
+        boolean uploaded = false;
 
         if (file != null && !file.isEmpty()) {
             try {
                 String key = photoStorage.store(file);
                 thumbnailUrl = toPublicUrl(key);
+                uploaded = true;
             } catch (Exception e) {
                 throw new ApiException(
                         ErrorCode.STORAGE_FAILED,
@@ -320,7 +328,7 @@ public class AlbumService {
             }
         }
 
-        album.setCoverPhotoUrl(thumbnailUrl);
+        replaceCover(album, thumbnailUrl, uploaded);
 
         return new AlbumThumbnailResponse(
                 album.getId(),
@@ -398,6 +406,14 @@ public class AlbumService {
         return String.format("%s/files/%s", publicBaseUrl, key);
     }
 
+    // 이전 커버는 커밋 후 저장 참조 해제 (직접 업로드해 참조를 잡은 커버만)
+    private void replaceCover(Album album, String url, boolean owned) {
+        if (!owned && Objects.equals(url, album.getCoverPhotoUrl())) return; // 같은 URL 을 다시 고름 → 그대로 둔다
+        replacedFileReleaser.releaseAfterCommit(album.getCoverPhotoUrl(), album.isCoverPhotoOwned());
+        album.setCoverPhotoUrl(url);
+        album.setCoverPhotoOwned(owned);
+    }
+
     private void autoSetThumbnailIfMissing(Album album) {
         if (album.getCoverPhotoUrl() != null && !album.getCoverPhotoUrl().isBlank()) return;
         String url = pickAutoThumbnailUrl(album);
@@ -1,6 +1,7 @@
 // backend/src/main/java/com/nemo/backend/domain/auth/dto/SignUpRequest.java
 package com.nemo.backend.domain.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,4 +23,8 @@ public class SignUpRequest {
     private String password;
     private String nickname;
     private String profileImageUrl;
+
+    // 서버가 multipart 가입에서 직접 업로드한 이미지인지 (JSON 으로는 받지 않음)
+    @JsonIgnore
+    private boolean profileImageOwned;
 }
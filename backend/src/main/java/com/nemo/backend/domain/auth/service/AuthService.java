@@ -59,6 +59,7 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setNickname(request.getNickname().trim());  // ★ 필수
         user.setProfileImageUrl(request.getProfileImageUrl() != null ? request.getProfileImageUrl() : "");
+        user.setProfileImageOwned(request.isProfileImageOwned() && request.getProfileImageUrl() != null);
         user.setProvider("local");
         user.setSocialId(null);
 
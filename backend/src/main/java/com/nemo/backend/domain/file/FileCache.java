@@ -0,0 +1,406 @@
+package com.nemo.backend.domain.file;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * /files/** 용 로컬 캐시 (S3 앞단 2단계).
+ * - 1단계 힙: 작은 객체(프로필, 앨범 커버, 썸네일)를 바이트 크기 가중치로 Caffeine 에 보관
+ * - 2단계 디스크(선택): 설정 디렉터리에 파일로 두고 mmap 으로 읽는다. 전체 바이트 기준 LRU 정리
+ * - 적재는 응답을 흘려보내면서 함께 쓰는 방식(tee) → 미스 때 본문 전체를 힙에 모으지 않는다
+ * 객체 키는 내용이 바뀌지 않지만 삭제는 된다: 이 인스턴스의 삭제는 S3PhotoStorage 가 evict 하고,
+ * 다른 인스턴스에서 지운 객체는 ttl 이 지나면 빠진다.
+ * 지표: files.cache.heap.* (Caffeine), files.cache.disk.{hits,misses,evictions,bytes}
+ */
+@Slf4j
+@Component
+public class FileCache {
+
+    /** 캐시에 보관하는 메타 (S3 응답 헤더 재현용) */
+    public record Meta(String contentType, long contentLength, String eTag, Instant lastModified) {}
+
+    /** 캐시 적중 결과. body 는 호출 측에서 닫는다 */
+    public record Hit(Meta meta, InputStream body) {}
+
+    private record HeapEntry(Meta meta, byte[] data) {}
+
+    private record DiskEntry(Meta meta, Path file, long storedAtNanos) {}
+
+    private final Cache<String, HeapEntry> heap;
+    private final long heapMaxObjectBytes;
+    private final long ttlNanos;
+
+    private final boolean diskEnabled;
+    private final Path diskDir;
+    private final long diskMaxBytes;
+    private final long diskMaxObjectBytes;
+    // 접근 순서 LinkedHashMap = LRU. 디스크 단계 접근은 이 객체로 동기화
+    private final LinkedHashMap<String, DiskEntry> diskIndex = new LinkedHashMap<>(256, 0.75f, true);
+    private long diskBytes;
+
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter diskEvictions;
+
+    public FileCache(MeterRegistry meterRegistry,
+                     @Value("${app.files.cache.heap.max-mb:64}") long heapMaxMb,
+                     @Value("${app.files.cache.heap.max-object-kb:512}") long heapMaxObjectKb,
+                     @Value("${app.files.cache.disk.enabled:false}") boolean diskEnabled,
+                     @Value("${app.files.cache.disk.dir:${java.io.tmpdir}/nemo-files-cache}") String diskDir,
+                     @Value("${app.files.cache.disk.max-mb:2048}") long diskMaxMb,
+                     @Value("${app.files.cache.disk.max-object-mb:32}") long diskMaxObjectMb,
+                     @Value("${app.files.cache.ttl-hours:24}") long ttlHours) {
+        this.heapMaxObjectBytes = heapMaxObjectKb * 1024;
+        this.ttlNanos = Duration.ofHours(ttlHours).toNanos();
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(heapMaxMb * 1024 * 1024)
+                .weigher((String k, HeapEntry e) -> e.data().length)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, heap, "files.cache.heap");
+
+        this.diskEnabled = diskEnabled;
+        this.diskDir = Path.of(diskDir);
+        this.diskMaxBytes = diskMaxMb * 1024 * 1024;
+        this.diskMaxObjectBytes = diskMaxObjectMb * 1024 * 1024;
+        this.diskHits = Counter.builder("files.cache.disk.hits").register(meterRegistry);
+        this.diskMisses = Counter.builder("files.cache.disk.misses").register(meterRegistry);
+        this.diskEvictions = Counter.builder("files.cache.disk.evictions").register(meterRegistry);
+        Gauge.builder("files.cache.disk.bytes", this, c -> c.currentDiskBytes()).register(meterRegistry);
+
+        if (diskEnabled) {
+            prepareDiskDir();
+        }
+    }
+
+    /** 이 크기 이하만 캐시 대상 (그보다 크면 S3 에서 바로 스트리밍) */
+    public long maxCacheableBytes() {
+        return diskEnabled ? Math.max(heapMaxObjectBytes, diskMaxObjectBytes) : heapMaxObjectBytes;
+    }
+
+    public Hit get(String key) {
+        HeapEntry h = heap.getIfPresent(key);
+        if (h != null) {
+            return new Hit(h.meta(), new ByteArrayInputStream(h.data()));
+        }
+        if (!diskEnabled) return null;
+
+        DiskEntry d = diskEntry(key);
+        if (d == null) {
+            diskMisses.increment();
+            return null;
+        }
+        try {
+            InputStream in = openMapped(d.file());
+            diskHits.increment();
+            return new Hit(d.meta(), in);
+        } catch (IOException e) {
+            // 파일이 지워졌거나 깨졌으면 색인에서 제거하고 미스로 처리
+            removeDisk(key);
+            diskMisses.increment();
+            return null;
+        }
+    }
+
+    /** 메타만 조회 (조건부 요청 판단용). 없으면 null */
+    public Meta peekMeta(String key) {
+        HeapEntry h = heap.getIfPresent(key);
+        if (h != null) return h.meta();
+        if (!diskEnabled) return null;
+        DiskEntry d = diskEntry(key);
+        return (d != null) ? d.meta() : null;
+    }
+
+    /**
+     * body 를 그대로 흘려보내면서 캐시에도 쓰는 스트림으로 감싼다.
+     * 힙 단계 크기 이하면 힙 버퍼에, 디스크 단계가 켜져 있으면 임시 파일에 함께 쓰고,
+     * 끝까지 읽혀 길이가 meta.contentLength 와 같을 때만 적재한다 (중간에 닫히면 버림).
+     * 캐시 대상이 아니면 body 를 그대로 돌려준다.
+     */
+    public InputStream tee(String key, Meta meta, InputStream body) {
+        long len = meta.contentLength();
+        ByteArrayOutputStream heapBuf = (len <= heapMaxObjectBytes) ? new ByteArrayOutputStream((int) len) : null;
+        Path tmp = null;
+        OutputStream diskOut = null;
+        if (diskEnabled && len <= diskMaxObjectBytes) {
+            try {
+                tmp = Files.createTempFile(diskDir, "put-", ".tmp");
+                diskOut = Files.newOutputStream(tmp);
+            } catch (IOException e) {
+                log.warn("[FILES][cache] disk tee open failed key={}: {}", key, e.toString());
+                if (tmp != null) deleteQuietly(tmp);
+                tmp = null;
+            }
+        }
+        if (heapBuf == null && diskOut == null) return body;
+        return new TeeInputStream(key, meta, body, heapBuf, tmp, diskOut);
+    }
+
+    /** 객체 삭제 시 호출 */
+    public void evict(String key) {
+        heap.invalidate(key);
+        if (diskEnabled) removeDisk(key);
+    }
+
+    // ===================== 디스크 단계 =====================
+
+    /** ttl 이 지난 항목은 지우고 null */
+    private DiskEntry diskEntry(String key) {
+        synchronized (diskIndex) {
+            DiskEntry d = diskIndex.get(key);
+            if (d != null && System.nanoTime() - d.storedAtNanos() > ttlNanos) {
+                removeDisk(key);
+                return null;
+            }
+            return d;
+        }
+    }
+
+    /** 다 쓴 임시 파일을 원자적으로 제자리로 옮겨 등록 → 읽는 쪽이 반쯤 쓴 파일을 보지 않음 */
+    private void commitDisk(String key, Meta meta, Path tmp, long size) {
+        Path target = diskDir.resolve(fileNameFor(key));
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[FILES][cache] disk write failed key={}: {}", key, e.toString());
+            deleteQuietly(tmp);
+            return;
+        }
+
+        synchronized (diskIndex) {
+            DiskEntry prev = diskIndex.put(key, new DiskEntry(meta, target, System.nanoTime()));
+            if (prev != null) diskBytes -= prev.meta().contentLength();
+            diskBytes += size;
+
+            Iterator<Map.Entry<String, DiskEntry>> it = diskIndex.entrySet().iterator();
+            while (diskBytes > diskMaxBytes && it.hasNext()) {
+                Map.Entry<String, DiskEntry> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                it.remove();
+                diskBytes -= eldest.getValue().meta().contentLength();
+                deleteQuietly(eldest.getValue().file());
+                diskEvictions.increment();
+            }
+        }
+    }
+
+    private void removeDisk(String key) {
+        synchronized (diskIndex) {
+            DiskEntry d = diskIndex.remove(key);
+            if (d == null) return;
+            diskBytes -= d.meta().contentLength();
+            deleteQuietly(d.file());
+        }
+    }
+
+    private long currentDiskBytes() {
+        synchronized (diskIndex) {
+            return diskBytes;
+        }
+    }
+
+    private static InputStream openMapped(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유효하다
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new ByteBufferInputStream(buf);
+        }
+    }
+
+    /** 색인이 메모리에만 있으므로 기동 시 이전 실행의 파일은 비운다 */
+    private void prepareDiskDir() {
+        try {
+            Files.createDirectories(diskDir);
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.forEach(FileCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("파일 캐시 디렉터리 준비 실패: " + diskDir, e);
+        }
+    }
+
+    private static String fileNameFor(String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(key.getBytes(StandardCharsets.UTF_8))) + ".bin";
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignore) {
+        }
+    }
+
+    /** 읽는 만큼 힙 버퍼/임시 파일에도 쓰고, EOF 에서 길이가 맞으면 캐시에 적재 */
+    private final class TeeInputStream extends InputStream {
+        private final String key;
+        private final Meta meta;
+        private final InputStream in;
+        private ByteArrayOutputStream heapBuf;
+        private Path tmp;
+        private OutputStream diskOut;
+        private long copied;
+        private boolean done;
+
+        TeeInputStream(String key, Meta meta, InputStream in,
+                       ByteArrayOutputStream heapBuf, Path tmp, OutputStream diskOut) {
+            this.key = key;
+            this.meta = meta;
+            this.in = in;
+            this.heapBuf = heapBuf;
+            this.tmp = tmp;
+            this.diskOut = diskOut;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) finish();
+            else copy(new byte[]{(byte) b}, 0, 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n < 0) finish();
+            else if (n > 0) copy(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                discard();
+            } finally {
+                in.close();
+            }
+        }
+
+        private void copy(byte[] b, int off, int n) {
+            if (done) return;
+            copied += n;
+            if (copied > meta.contentLength()) {
+                discard(); // 메타와 길이가 다르면 적재하지 않음
+                return;
+            }
+            if (heapBuf != null) heapBuf.write(b, off, n);
+            if (diskOut != null) {
+                try {
+                    diskOut.write(b, off, n);
+                } catch (IOException e) {
+                    // 디스크 쓰기 실패는 응답에 영향 주지 않고 디스크 적재만 포기
+                    log.warn("[FILES][cache] disk tee write failed key={}: {}", key, e.toString());
+                    dropDisk();
+                }
+            }
+        }
+
+        private void finish() {
+            if (done) return;
+            if (copied != meta.contentLength()) {
+                discard();
+                return;
+            }
+            done = true;
+            if (heapBuf != null) {
+                heap.put(key, new HeapEntry(meta, heapBuf.toByteArray()));
+                heapBuf = null;
+            }
+            if (diskOut != null) {
+                try {
+                    diskOut.close();
+                    commitDisk(key, meta, tmp, copied);
+                } catch (IOException e) {
+                    log.warn("[FILES][cache] disk write failed key={}: {}", key, e.toString());
+                    deleteQuietly(tmp);
+                }
+                diskOut = null;
+                tmp = null;
+            }
+        }
+
+        private void discard() {
+            if (done) return;
+            done = true;
+            heapBuf = null;
+            dropDisk();
+        }
+
+        private void dropDisk() {
+            if (diskOut == null) return;
+            try {
+                diskOut.close();
+            } catch (IOException ignore) {
+            }
+            deleteQuietly(tmp);
+            diskOut = null;
+            tmp = null;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? (buf.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
@@ -2,20 +2,26 @@ package com.nemo.backend.domain.file;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,56 +29,120 @@ import java.time.Duration;
 public class FileController {
 
     private final S3FileService fileService;
+    private final PresignedUrlCache presignedUrlCache;
 
+    /** proxy: 앱이 S3 바이트를 중계 (기본) / redirect: S3 presigned URL 로 302 */
+    @Value("${app.files.delivery:proxy}")
+    private String deliveryMode;
+
+    /** proxy 모드에서 S3 조회를 S3AsyncClient 로 (응답 대기 중 요청 스레드 반환) */
+    @Value("${app.files.async-proxy:false}")
+    private boolean asyncProxy;
+
+    /**
+     * app.files.delivery=redirect 면 presigned URL 로 302, 아니면
+     * S3 객체를 힙에 올리지 않고 응답으로 바로 흘려보낸다.
+     * - Range → GetObject 로 전달, 206 + Content-Range
+     * - If-None-Match → S3 조건부 GET, 일치하면 본문 없이 304
+     * async-proxy 면 CompletableFuture 를 반환해 S3 응답을 기다리는 동안 서블릿 스레드를 놓아준다.
+     * (반환 타입을 Object 로 둬야 Spring MVC 가 실제 값 타입으로 비동기 처리를 고른다)
+     */
     @GetMapping("/**") // 단일 매핑
-    public ResponseEntity<?> getFile(HttpServletRequest request) {
+    public Object getFile(HttpServletRequest request,
+                          @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
         String key = path.startsWith("/files/") ? path.substring("/files/".length()) : path;
 
-        try {
-            var obj = fileService.get(key);
-
-            // HTML 같은 비정상 바디면 안전 차단
-            if (looksLikeHtml(obj.bytes())) {
-                return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                        .contentType(MediaType.TEXT_PLAIN)
-                        .body("Upstream returned HTML instead of image for key: " + key);
-            }
-
-            String ct = (obj.contentType() == null || obj.contentType().isBlank())
-                    ? "application/octet-stream" : obj.contentType();
-
-            byte[] bytes = obj.bytes();
+        if ("redirect".equalsIgnoreCase(deliveryMode)) {
+            // 바이트는 클라이언트가 S3 에서 직접 받는다 (앱은 서명만)
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(presignedUrlCache.get(key.startsWith("/") ? key.substring(1) : key)))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
 
-            String filename = key.substring(key.lastIndexOf('/') + 1);
-            String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+        if (asyncProxy) {
+            return fileService.openAsync(key, range, ifNoneMatch)
+                    .handle((obj, err) -> (err != null) ? errorResponse(key, err) : toResponse(key, obj));
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(safeMediaType(ct))
-                    .contentLength(bytes.length)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename*=UTF-8''" + encoded)
-                    .cacheControl(CacheControl.maxAge(Duration.ofDays(30)).cachePublic())
-                    .body(new ByteArrayResource(bytes));
+        try {
+            return toResponse(key, fileService.open(key, range, ifNoneMatch));
+        } catch (Exception e) {
+            return errorResponse(key, e);
+        }
+    }
 
-        } catch (S3FileService.FileNotFoundException e) {
+    private static ResponseEntity<?> errorResponse(String key, Throwable err) {
+        Throwable e = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+        if (e instanceof S3FileService.FileNotFoundException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .contentType(MediaType.TEXT_PLAIN)
                     .body("Not Found: " + key);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        }
+        if (e instanceof S3FileService.RangeNotSatisfiableException) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
                     .contentType(MediaType.TEXT_PLAIN)
-                    .body("Internal error while fetching: " + key);
+                    .body("Range Not Satisfiable: " + key);
         }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Internal error while fetching: " + key);
+    }
+
+    private static ResponseEntity<?> toResponse(String key, S3FileService.FileStream obj) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(30)).cachePublic();
+
+        if (obj.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(obj.eTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        String ct = (obj.contentType() == null || obj.contentType().isBlank())
+                ? "application/octet-stream" : obj.contentType();
+
+        // HTML 같은 비정상 바디면 안전 차단
+        if (ct.toLowerCase().startsWith("text/html")) {
+            obj.abort();
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Upstream returned HTML instead of image for key: " + key);
+        }
+
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(obj.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(safeMediaType(ct))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename*=UTF-8''" + encoded)
+                .cacheControl(cacheControl);
+        if (obj.contentLength() != null) builder.contentLength(obj.contentLength());
+        if (obj.partial()) builder.header(HttpHeaders.CONTENT_RANGE, obj.contentRange());
+        if (obj.eTag() != null) builder.eTag(obj.eTag());
+        if (obj.lastModified() != null) builder.lastModified(obj.lastModified());
+
+        StreamingResponseBody body = out -> {
+            InputStream in = obj.body();
+            try {
+                in.transferTo(out);
+            } catch (IOException e) {
+                // 클라이언트가 중간에 끊으면 남은 본문은 받지 않는다 (close 전에 abort)
+                obj.abort();
+                throw e;
+            } finally {
+                in.close();
+            }
+        };
+        return builder.body(body);
     }
 
     private static MediaType safeMediaType(String ct) {
         try { return MediaType.parseMediaType(ct); }
         catch (Exception e) { return MediaType.APPLICATION_OCTET_STREAM; }
     }
-
-    private static boolean looksLikeHtml(byte[] b) {
-        if (b == null || b.length < 5) return false;
-        String head = new String(b, 0, Math.min(b.length, 16), StandardCharsets.US_ASCII).trim().toLowerCase();
-        return head.startsWith("<!doc") || head.startsWith("<html");
-    }
 }
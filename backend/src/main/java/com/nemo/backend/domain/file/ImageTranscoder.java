@@ -2,65 +2,202 @@ package com.nemo.backend.domain.file;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
-import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
-import java.awt.color.ColorSpace;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * 이미지 재인코딩 유틸.
+ * 메모리 상한을 입력 해상도와 무관하게 유지하는 게 목표:
+ * - 원본 픽셀 수가 MAX_SOURCE_PIXELS 를 넘으면 읽기 전에 거절
+ * - 축소본: ImageReadParam 서브샘플링으로 목표 너비 근처에서만 디코딩, 디코딩 결과는 MAX_DECODED_PIXELS 이하
+ *   (너비가 좁고 아주 긴 이미지는 너비가 아니라 픽셀 수로 서브샘플링 비율이 정해진다)
+ * - 디코딩 결과가 BAND_THRESHOLD_ROWS 보다 길면 가로 띠(source region) 단위로 읽어 RGB 결과 하나에 그려 넣는다
+ *   → 피크 메모리 ≈ 결과 + 띠 1개 (원본 타입 전체 + RGB 사본 전체가 동시에 생기지 않음)
+ * - JPEG ImageWriter 는 풀에서 재사용
+ */
 public final class ImageTranscoder {
 
     private ImageTranscoder() {}
 
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;   // 이보다 큰 원본은 거절
+    private static final long MAX_DECODED_PIXELS = 8_000_000L;    // 디코딩 결과 상한 (TYPE_INT_RGB 기준 약 32MB)
+    private static final int BAND_THRESHOLD_ROWS = 4096;          // 디코딩 결과가 이보다 길면 띠 단위로 읽음
+    private static final int MAX_BANDS = 8;                       // 띠마다 앞부분을 다시 디코딩하므로 너무 잘게 나누지 않는다
+
+    private static final int WRITER_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final BlockingQueue<ImageWriter> JPEG_WRITERS = new ArrayBlockingQueue<>(WRITER_POOL_SIZE);
+
+    /**
+     * 원본을 한 번만 디코딩해서 너비별 sRGB JPEG 축소본을 만든다 (세로는 비율 유지).
+     * 디코딩은 가장 큰 목표 너비 이상이 되는 범위에서 서브샘플링한다.
+     * 원본이 목표 너비보다 작으면 원본 크기로 재인코딩. 읽을 수 없는 포맷이면 빈 Map.
+     */
+    public static Map<Integer, byte[]> resizeToJpegs(InputStream source, int[] widths, float quality) throws IOException {
+        Map<Integer, byte[]> out = new LinkedHashMap<>();
+        if (widths.length == 0) return out;
+        int maxWidth = Arrays.stream(widths).max().getAsInt();
+
+        BufferedImage src = decodeSubsampled(source, maxWidth);
+        if (src == null) return out;
+        for (int width : widths) {
+            out.put(width, writeJpeg(scaleToWidth(src, width), quality));
+        }
+        return out;
+    }
+
+    /**
+     * 디코딩 결과 너비가 minWidth 이상 유지되는 최대 서브샘플링 비율로 읽되,
+     * 결과 픽셀 수가 MAX_DECODED_PIXELS 를 넘지 않도록 비율을 더 키운다.
+     */
+    private static BufferedImage decodeSubsampled(InputStream source, int minWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                // 띠 단위로 읽을 때 앞으로 되돌아가야 하므로 seekForwardOnly=false (스트림은 ImageIO 가 캐시)
+                reader.setInput(in, false, true);
+                int srcWidth = reader.getWidth(0);
+                int srcHeight = reader.getHeight(0);
+                long srcPixels = (long) srcWidth * srcHeight;
+                if (srcPixels > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large: " + srcWidth + "x" + srcHeight);
+                }
+
+                int widthStep = srcWidth / Math.max(1, minWidth);
+                int pixelStep = (int) Math.ceil(Math.sqrt((double) srcPixels / MAX_DECODED_PIXELS));
+                int step = Math.max(1, Math.max(widthStep, pixelStep));
+
+                int rows = (srcHeight + step - 1) / step;
+                if (rows > BAND_THRESHOLD_ROWS) {
+                    return readInBands(reader, srcWidth, srcHeight, step);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return toRgb(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     /**
-     * JPEG 바이트가 CMYK 등 Android가 못 읽는 색공간이면 sRGB로 변환해 재인코딩.
-     * 이미 sRGB/YCbCr이면 원본 그대로 반환.
+     * 결과(TYPE_INT_RGB) 하나만 전체 크기로 두고, 원본은 가로 띠 단위로 서브샘플링해 읽어 그려 넣는다.
+     * 띠 시작 행은 step 의 배수 → 한 번에 읽은 것과 같은 행이 뽑힌다.
      */
-    public static byte[] normalizeJpegToSRGB(byte[] jpegBytes) {
+    private static BufferedImage readInBands(ImageReader reader, int srcWidth, int srcHeight, int step) throws IOException {
+        int width = (srcWidth + step - 1) / step;
+        int height = (srcHeight + step - 1) / step;
+        int bandRows = (height + MAX_BANDS - 1) / MAX_BANDS;   // 결과 기준 행 수
+
+        BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
         try {
-            // TwelveMonkeys가 등록되어 있으면 CMYK JPEG도 읽힌다
-            var in = ImageIO.createImageInputStream(new ByteArrayInputStream(jpegBytes));
-            var readers = ImageIO.getImageReaders(in);
-            if (!readers.hasNext()) return jpegBytes;
-
-            var reader = readers.next();
-            reader.setInput(in, true, true);
-
-            // 메타정보 확인
-            BufferedImage src = reader.read(0);
-            var cs = src.getColorModel().getColorSpace();
-            boolean notSRGB = cs == null || cs.getType() != ColorSpace.TYPE_RGB;
-
-            // 대부분의 CMYK JPEG는 TYPE_CMYK로 들어옴 → TYPE_INT_RGB로 변환
-            if (notSRGB || src.getType() != BufferedImage.TYPE_INT_RGB) {
-                BufferedImage rgb = new BufferedImage(
-                        src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
-                rgb.getGraphics().drawImage(src, 0, 0, null);
-                src = rgb;
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
+            for (int y = 0; y < height; y += bandRows) {
+                int srcY = y * step;
+                int srcRows = Math.min(bandRows * step, srcHeight - srcY);
+                param.setSourceRegion(new Rectangle(0, srcY, srcWidth, srcRows));
+                BufferedImage band = reader.read(0, param);
+                g.drawImage(band, 0, y, null);
+                band.flush();
             }
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
 
-            // JPEG로 재인코딩 (sRGB)
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            Iterator<ImageWriter> it = ImageIO.getImageWritersByFormatName("jpeg");
-            if (!it.hasNext()) return jpegBytes;
-            ImageWriter writer = it.next();
-            try (var ios = new MemoryCacheImageOutputStream(bos)) {
-                writer.setOutput(ios);
-                ImageWriteParam param = writer.getDefaultWriteParam();
-                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                param.setCompressionQuality(0.92f); // 품질
-                writer.write(null, new IIOImage(src, null, null), param);
+    /** JPEG 인코더가 그대로 받을 수 있는 RGB 면 복사하지 않는다 */
+    private static BufferedImage toRgb(BufferedImage src) {
+        int type = src.getType();
+        if (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_3BYTE_BGR) return src;
+        BufferedImage rgb = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(src, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /** 2배 이상 줄일 때는 절반씩 단계적으로 줄여 bilinear 의 계단 현상을 줄인다 */
+    private static BufferedImage scaleToWidth(BufferedImage src, int targetWidth) {
+        BufferedImage cur = src;
+        int finalWidth = Math.min(targetWidth, src.getWidth());
+        while (cur.getWidth() > finalWidth) {
+            int w = Math.max(finalWidth, cur.getWidth() / 2);
+            int h = Math.max(1, (int) Math.round((double) cur.getHeight() * w / cur.getWidth()));
+
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(cur, 0, 0, w, h, null);
             } finally {
-                writer.dispose();
+                g.dispose();
             }
-            return bos.toByteArray();
-        } catch (Exception ignore) {
-            // 실패 시 원본 그대로 (손상 방지)
-            return jpegBytes;
+            cur = next;
+        }
+        return cur;
+    }
+
+    private static byte[] writeJpeg(BufferedImage img, float quality) throws IOException {
+        ImageWriter writer = borrowJpegWriter();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (var ios = new MemoryCacheImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            returnJpegWriter(writer);
+        }
+        return bos.toByteArray();
+    }
+
+    private static ImageWriter borrowJpegWriter() throws IOException {
+        ImageWriter pooled = JPEG_WRITERS.poll();
+        if (pooled != null) return pooled;
+        Iterator<ImageWriter> it = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!it.hasNext()) throw new IOException("JPEG writer not available");
+        return it.next();
+    }
+
+    private static void returnJpegWriter(ImageWriter writer) {
+        try {
+            writer.reset(); // 출력 스트림/상태 해제
+        } catch (RuntimeException e) {
+            writer.dispose();
+            return;
+        }
+        if (!JPEG_WRITERS.offer(writer)) {
+            writer.dispose();
         }
     }
 
@@ -0,0 +1,317 @@
+package com.nemo.backend.domain.file;
+
+import com.nemo.backend.domain.album.repository.AlbumRepository;
+import com.nemo.backend.domain.photo.entity.StorageSweepCursor;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.StorageSweepCursorRepository;
+import com.nemo.backend.domain.photo.repository.StoredBlobRepository;
+import com.nemo.backend.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * S3 고아 객체 정리.
+ * 버킷을 접두어별로 한 페이지씩 나열하고, 페이지 단위로 DB 참조를 한 번에 확인한다.
+ * - 참조: photos.image_url / thumbnail_url, users.profile_image_url, album.cover_photo_url
+ *   URL 은 '{베이스}/files/{키}' 형태로 저장되므로, 실행마다 DB 에 실제로 쓰인 베이스 종류를 읽어
+ *   (현재 public-base-url 포함) 베이스마다 키를 붙여 비교한다 → 배포 주소가 바뀐 예전 행도 키로 맞는다
+ * - 실행마다 한 번, 최근 사진 URL 몇 개를 키로 바꿔 버킷에 실제로 있는지 확인한다.
+ *   DB 에 참조가 있는데 하나도 찾지 못하면 설정/URL 형식 이상으로 보고 그 실행은 건너뛴다
+ *   (페이지 단위로 보지 않음 → 전부 고아인 페이지도 정리된다)
+ * - 축소본(..._w{너비}.jpg)은 자기 URL 또는 같은 원본의 가장 작은 축소본(=thumbnailUrl)이 참조되면 유지
+ * - 참조 카운트로 관리하는 내용 주소 객체(stored_blobs)는 건너뛴다
+ * - 마지막 수정 후 grace 가 지나지 않은 객체는 건너뛴다 (업로드 직후 아직 행이 없을 수 있음)
+ * 한 번에 max-pages-per-run 페이지만 보고 다음 실행에서 이어간다 (재개 위치는 storage_sweep_cursors 에 페이지마다 저장).
+ * 삭제는 DeleteObjects 로 1000개씩. dry-run 이면 로그와 지표만 남긴다.
+ * 지표: storage.sweeper.{scanned,orphans,deleted}
+ */
+@Slf4j
+@Component
+public class OrphanObjectSweeper {
+
+    /** 한 번 실행 결과 */
+    public record SweepResult(int scanned, int orphans, int deleted, boolean passCompleted) {}
+
+    private static final Pattern RENDITION = Pattern.compile("^(.+)_w(\\d+)\\.jpg$");
+    private static final int DELETE_BATCH = 1000; // DeleteObjects 최대 키 수
+    private static final int QUERY_CHUNK = 500;   // IN 절 크기 상한
+    private static final String FILES_PATH = "/files/";
+    private static final String CURSOR_NAME = "orphan-objects";
+    private static final int SANITY_SAMPLE = 20;  // 실행 전 점검에 쓰는 최근 사진 수
+
+    private final S3Client s3Client;
+    private final FileCache fileCache;
+    private final PhotoRepository photoRepository;
+    private final UserRepository userRepository;
+    private final AlbumRepository albumRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final StorageSweepCursorRepository cursorRepository;
+
+    private final String bucket;
+    private final String filesPrefix;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final Duration grace;
+    private final List<String> prefixes;
+    private final int pageSize;
+    private final int maxPagesPerRun;
+    private final int minRenditionWidth;
+
+    private final Counter scannedCounter;
+    private final Counter orphanCounter;
+    private final Counter deletedCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public OrphanObjectSweeper(S3Client s3Client,
+                               FileCache fileCache,
+                               PhotoRepository photoRepository,
+                               UserRepository userRepository,
+                               AlbumRepository albumRepository,
+                               StoredBlobRepository storedBlobRepository,
+                               StorageSweepCursorRepository cursorRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.s3.bucket}") String bucket,
+                               @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl,
+                               @Value("${app.storage.sweeper.enabled:false}") boolean enabled,
+                               @Value("${app.storage.sweeper.dry-run:true}") boolean dryRun,
+                               @Value("${app.storage.sweeper.grace-hours:24}") long graceHours,
+                               @Value("${app.storage.sweeper.prefixes:albums/,uploads/,blobs/,tmp/}") String[] prefixes,
+                               @Value("${app.storage.sweeper.page-size:1000}") int pageSize,
+                               @Value("${app.storage.sweeper.max-pages-per-run:20}") int maxPagesPerRun,
+                               @Value("${app.photo.rendition.widths:320,640,1280}") int[] renditionWidths) {
+        this.s3Client = s3Client;
+        this.fileCache = fileCache;
+        this.photoRepository = photoRepository;
+        this.userRepository = userRepository;
+        this.albumRepository = albumRepository;
+        this.storedBlobRepository = storedBlobRepository;
+        this.cursorRepository = cursorRepository;
+        this.bucket = bucket;
+        this.filesPrefix = publicBaseUrl.replaceAll("/+$", "") + "/files/";
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.grace = Duration.ofHours(graceHours);
+        this.prefixes = Arrays.stream(prefixes).map(String::trim).filter(p -> !p.isEmpty()).toList();
+        this.pageSize = Math.min(1000, Math.max(1, pageSize));
+        this.maxPagesPerRun = Math.max(1, maxPagesPerRun);
+        this.minRenditionWidth = Arrays.stream(renditionWidths).min().orElse(0);
+        this.scannedCounter = Counter.builder("storage.sweeper.scanned").register(meterRegistry);
+        this.orphanCounter = Counter.builder("storage.sweeper.orphans").register(meterRegistry);
+        this.deletedCounter = Counter.builder("storage.sweeper.deleted").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.sweeper.interval-ms:3600000}",
+            initialDelayString = "${app.storage.sweeper.initial-delay-ms:600000}")
+    public void scheduledSweep() {
+        if (!enabled) return;
+        try {
+            SweepResult r = sweep();
+            log.info("[FILES][sweeper] scanned={}, orphans={}, deleted={}, dryRun={}, passCompleted={}",
+                    r.scanned(), r.orphans(), r.deleted(), dryRun, r.passCompleted());
+        } catch (Exception e) {
+            log.warn("[FILES][sweeper] run failed (resumes from last position): {}", e.toString());
+        }
+    }
+
+    /** 최대 max-pages-per-run 페이지를 처리하고 재개 위치를 남긴다. 이미 실행 중이면 빈 결과 */
+    public SweepResult sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return new SweepResult(0, 0, 0, false);
+        }
+        int scanned = 0, orphans = 0, deleted = 0;
+        boolean passCompleted = false;
+        try {
+            if (!referencesResolve()) {
+                log.warn("[FILES][sweeper] recent photo URLs do not map to objects in bucket={} - skipping run, check app.public-base-url / URL format", bucket);
+                return new SweepResult(0, 0, 0, false);
+            }
+            Instant cutoff = Instant.now().minus(grace);
+            Set<String> bases = urlBases();
+
+            // 재개 위치 (저장된 접두어가 설정에서 빠졌으면 처음부터)
+            StorageSweepCursor cursor = cursorRepository.findById(CURSOR_NAME)
+                    .orElseGet(() -> new StorageSweepCursor(CURSOR_NAME, LocalDateTime.now()));
+            int prefixIndex = cursor.getPrefix() == null ? 0 : prefixes.indexOf(cursor.getPrefix());
+            String startAfter = prefixIndex < 0 ? null : cursor.getStartAfter();
+            prefixIndex = Math.max(0, prefixIndex);
+
+            for (int page = 0; page < maxPagesPerRun; page++) {
+                if (prefixIndex >= prefixes.size()) {
+                    prefixIndex = 0;
+                    startAfter = null;
+                    passCompleted = true;
+                    break;
+                }
+                String prefix = prefixes.get(prefixIndex);
+                String after = startAfter;
+                ListObjectsV2Response resp = s3Client.listObjectsV2(b -> b
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .maxKeys(pageSize)
+                        .startAfter(after));
+                List<S3Object> objects = resp.contents();
+                scanned += objects.size();
+
+                List<String> candidates = objects.stream()
+                        .filter(o -> o.lastModified() != null && o.lastModified().isBefore(cutoff))
+                        .map(S3Object::key)
+                        .toList();
+                List<String> found = findOrphans(candidates, bases);
+                orphans += found.size();
+                deleted += delete(found);
+
+                if (Boolean.TRUE.equals(resp.isTruncated()) && !objects.isEmpty()) {
+                    startAfter = objects.get(objects.size() - 1).key();
+                } else {
+                    prefixIndex++;
+                    startAfter = null;
+                }
+                cursor.moveTo(prefixIndex < prefixes.size() ? prefixes.get(prefixIndex) : null, startAfter, LocalDateTime.now());
+                cursor = cursorRepository.save(cursor);
+            }
+        } finally {
+            scannedCounter.increment(scanned);
+            orphanCounter.increment(orphans);
+            deletedCounter.increment(deleted);
+            running.set(false);
+        }
+        return new SweepResult(scanned, orphans, deleted, passCompleted);
+    }
+
+    /**
+     * 실행 전 점검: 최근 사진 URL 의 '/files/' 뒤 키 중 하나라도 버킷에 있으면 통과.
+     * 사진이 없으면 (참조할 것이 없으니) 통과.
+     */
+    private boolean referencesResolve() {
+        List<String> urls = photoRepository.findRecentImageUrls(PageRequest.of(0, SANITY_SAMPLE));
+        if (urls.isEmpty()) return true;
+        for (String url : urls) {
+            int i = url == null ? -1 : url.indexOf(FILES_PATH);
+            if (i < 0) continue;
+            String key = url.substring(i + FILES_PATH.length());
+            try {
+                s3Client.headObject(b -> b.bucket(bucket).key(key));
+                return true;
+            } catch (S3Exception e) {
+                if (e.statusCode() != 404) throw e;
+            }
+        }
+        return false;
+    }
+
+    /** DB 에 저장된 URL 들의 '{베이스}/files/' 종류 + 현재 설정 값 */
+    private Set<String> urlBases() {
+        Set<String> bases = new HashSet<>();
+        bases.add(filesPrefix);
+        bases.addAll(photoRepository.findImageUrlFilesPrefixes());
+        bases.addAll(photoRepository.findThumbnailUrlFilesPrefixes());
+        bases.addAll(userRepository.findProfileImageUrlFilesPrefixes());
+        bases.addAll(albumRepository.findCoverPhotoUrlFilesPrefixes());
+        bases.removeIf(b -> b == null || !b.endsWith(FILES_PATH));
+        return bases;
+    }
+
+    /** 페이지의 키들 중 어디서도 참조되지 않는 것 */
+    private List<String> findOrphans(List<String> keys, Set<String> bases) {
+        if (keys.isEmpty()) return List.of();
+
+        Set<String> tracked = new HashSet<>(queryChunked(keys, storedBlobRepository::findObjectKeysIn));
+
+        // 키별로 "이 중 하나라도 참조되면 유지" 할 URL 목록
+        Map<String, List<String>> urlsByKey = new LinkedHashMap<>();
+        Set<String> allUrls = new HashSet<>();
+        for (String key : keys) {
+            if (tracked.contains(key)) continue;
+            List<String> urls = new ArrayList<>(bases.size() * 2);
+            Matcher m = RENDITION.matcher(key);
+            String smallest = (m.matches() && minRenditionWidth > 0)
+                    ? m.group(1) + "_w" + minRenditionWidth + ".jpg" : null;
+            for (String base : bases) {
+                urls.add(base + key);
+                if (smallest != null) urls.add(base + smallest);
+            }
+            urlsByKey.put(key, urls);
+            allUrls.addAll(urls);
+        }
+        if (urlsByKey.isEmpty()) return List.of();
+
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(queryChunked(allUrls, photoRepository::findImageUrlsIn));
+        referenced.addAll(queryChunked(allUrls, photoRepository::findThumbnailUrlsIn));
+        referenced.addAll(queryChunked(allUrls, userRepository::findProfileImageUrlsIn));
+        referenced.addAll(queryChunked(allUrls, albumRepository::findCoverPhotoUrlsIn));
+
+        List<String> orphans = new ArrayList<>();
+        urlsByKey.forEach((key, urls) -> {
+            if (urls.stream().noneMatch(referenced::contains)) orphans.add(key);
+        });
+        return orphans;
+    }
+
+    private int delete(List<String> keys) {
+        if (keys.isEmpty()) return 0;
+        if (dryRun) {
+            log.info("[FILES][sweeper][dry-run] {} orphan(s), e.g. {}", keys.size(), keys.subList(0, Math.min(5, keys.size())));
+            return 0;
+        }
+
+        int deleted = 0;
+        for (int i = 0; i < keys.size(); i += DELETE_BATCH) {
+            List<String> batch = keys.subList(i, Math.min(keys.size(), i + DELETE_BATCH));
+            List<ObjectIdentifier> ids = batch.stream().map(k -> ObjectIdentifier.builder().key(k).build()).toList();
+            DeleteObjectsResponse resp = s3Client.deleteObjects(b -> b
+                    .bucket(bucket)
+                    .delete(d -> d.objects(ids).quiet(true)));
+
+            // quiet 모드는 실패한 키만 돌려준다
+            Set<String> failed = new HashSet<>();
+            resp.errors().forEach(err -> {
+                failed.add(err.key());
+                log.warn("[FILES][sweeper] delete failed key={}: {} {}", err.key(), err.code(), err.message());
+            });
+            for (String key : batch) {
+                if (failed.contains(key)) continue;
+                fileCache.evict(key);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static List<String> queryChunked(Collection<String> values, Function<Collection<String>, List<String>> query) {
+        List<String> all = new ArrayList<>(values);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += QUERY_CHUNK) {
+            result.addAll(query.apply(all.subList(i, Math.min(all.size(), i + QUERY_CHUNK))));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nemo.backend.domain.file;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+
+/**
+ * 객체 키별 presigned GET URL 캐시.
+ * URL 유효시간(ttl)보다 refreshMargin 만큼 일찍 캐시에서 내려, 클라이언트가 받는 URL 은
+ * 항상 최소 refreshMargin 이상 남아 있다.
+ */
+@Component
+public class PresignedUrlCache {
+
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration ttl;
+    private final Cache<String, String> urls;
+
+    public PresignedUrlCache(S3Presigner presigner,
+                             @Value("${app.s3.bucket}") String bucket,
+                             @Value("${app.files.presign.ttl-minutes:10}") long ttlMinutes,
+                             @Value("${app.files.presign.refresh-margin-seconds:60}") long refreshMarginSeconds,
+                             @Value("${app.files.presign.max-entries:10000}") long maxEntries) {
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        Duration reuse = ttl.minusSeconds(refreshMarginSeconds);
+        if (reuse.isNegative() || reuse.isZero()) {
+            throw new IllegalStateException("app.files.presign.refresh-margin-seconds 는 ttl 보다 짧아야 합니다.");
+        }
+        this.urls = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(reuse)
+                .build();
+    }
+
+    public String get(String key) {
+        return urls.get(key, this::presign);
+    }
+
+    private String presign(String key) {
+        return presigner.presignGetObject(r -> r
+                        .signatureDuration(ttl)
+                        .getObjectRequest(g -> g.bucket(bucket).key(key)))
+                .url()
+                .toString();
+    }
+}
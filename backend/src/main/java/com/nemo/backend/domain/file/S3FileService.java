@@ -1,53 +1,212 @@
 // com.nemo.backend.domain.file.S3FileService
 package com.nemo.backend.domain.file;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
 public class S3FileService {
 
-    public record FileObject(byte[] bytes, String contentType, Long contentLength) {}
+    /**
+     * 스트리밍 조회 결과. body 는 S3 응답 스트림 그대로이며 호출 측에서 닫아야 한다.
+     * notModified 면 body 는 null (조건부 요청이 일치해 본문을 받지 않음).
+     */
+    public record FileStream(InputStream body,
+                             String contentType,
+                             Long contentLength,
+                             String contentRange,
+                             String eTag,
+                             Instant lastModified,
+                             boolean notModified,
+                             ResponseInputStream<GetObjectResponse> source) {
+
+        public boolean partial() { return contentRange != null; }
+
+        /** 클라이언트가 끊긴 경우 남은 본문을 받지 않고 커넥션을 버린다 (캐시 적재 중이던 임시 파일도 정리) */
+        public void abort() {
+            if (source != null) source.abort();
+            if (body != null && body != source) {
+                try {
+                    body.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    private static final int SNIFF_BYTES = 16;
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final FileCache fileCache;
+
+    // 비동기 조회의 본문 후처리(판독용 앞부분 읽기 등 블로킹) 실행기 - S3 완료 실행기를 막지 않는다
+    private final ExecutorService bodyExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${app.s3.bucket}")
     private String bucket;
 
-    public FileObject get(String key) {
-        String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
+    @PreDestroy
+    void shutdown() {
+        bodyExecutor.shutdown();
+    }
 
+    /**
+     * 객체를 힙에 올리지 않고 스트림으로 연다.
+     * - 로컬 캐시(FileCache)에 있으면 S3 를 거치지 않는다 (Range 요청은 S3 로 직행)
+     * - range: 클라이언트 Range 헤더를 그대로 GetObject 에 전달 (206)
+     * - ifNoneMatch: ETag 가 같으면 S3 가 본문 없이 304 → notModified
+     */
+    public FileStream open(String key, String range, String ifNoneMatch) {
+        String normalizedKey = normalize(key);
+        FileStream cached = fromCache(normalizedKey, range, ifNoneMatch);
+        if (cached != null) return cached;
+
+        ResponseInputStream<GetObjectResponse> in;
         try {
-            ResponseBytes<GetObjectResponse> bytes = s3Client.getObject(
-                    b -> b.bucket(bucket).key(normalizedKey),
-                    ResponseTransformer.toBytes()
-            );
-            byte[] data = bytes.asByteArray();
+            in = s3Client.getObject(buildRequest(normalizedKey, range, ifNoneMatch));
+        } catch (S3Exception e) {
+            return fromS3Error(e, key, range, ifNoneMatch);
+        }
+        return toFileStream(normalizedKey, range, in);
+    }
+
+    /**
+     * open 의 비동기 버전. S3 응답 헤더가 도착할 때까지 호출 스레드를 잡지 않는다.
+     * 응답 헤더 이후의 후처리는 본문 스트림을 블로킹으로 읽으므로 완료 실행기(s3AsyncExecutor)가 아닌
+     * 가상 스레드에서 돈다 (느린 다운로드 몇 개가 완료 실행기를 다 잡지 않게).
+     * 실패는 CompletionException 으로 감싼 FileNotFoundException / RangeNotSatisfiableException 등.
+     */
+    public CompletableFuture<FileStream> openAsync(String key, String range, String ifNoneMatch) {
+        String normalizedKey = normalize(key);
+        FileStream cached = fromCache(normalizedKey, range, ifNoneMatch);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        return s3AsyncClient.getObject(buildRequest(normalizedKey, range, ifNoneMatch),
+                        AsyncResponseTransformer.<GetObjectResponse>toBlockingInputStream())
+                .handleAsync((in, err) -> {
+                    if (err == null) return toFileStream(normalizedKey, range, in);
+                    Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+                    if (cause instanceof S3Exception e) return fromS3Error(e, key, range, ifNoneMatch);
+                    throw (cause instanceof RuntimeException re) ? re : new CompletionException(cause);
+                }, bodyExecutor);
+    }
+
+    private static String normalize(String key) {
+        return key.startsWith("/") ? key.substring(1) : key;
+    }
+
+    /** 로컬 캐시로 끝낼 수 있으면 결과, 아니면 null */
+    private FileStream fromCache(String normalizedKey, String range, String ifNoneMatch) {
+        FileCache.Meta cachedMeta = fileCache.peekMeta(normalizedKey);
+        if (cachedMeta != null && etagMatches(ifNoneMatch, cachedMeta.eTag())) {
+            return new FileStream(null, null, null, null, cachedMeta.eTag(), null, true, null);
+        }
+        if (range == null || range.isBlank()) {
+            FileCache.Hit hit = fileCache.get(normalizedKey);
+            if (hit != null) {
+                FileCache.Meta m = hit.meta();
+                return new FileStream(hit.body(), m.contentType(), m.contentLength(), null,
+                        m.eTag(), m.lastModified(), false, null);
+            }
+        }
+        return null;
+    }
+
+    private GetObjectRequest buildRequest(String normalizedKey, String range, String ifNoneMatch) {
+        GetObjectRequest.Builder req = GetObjectRequest.builder().bucket(bucket).key(normalizedKey);
+        if (range != null && !range.isBlank()) req.range(range);
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) req.ifNoneMatch(ifNoneMatch);
+        return req.build();
+    }
+
+    /** 304 는 notModified 결과로, 404/416 은 전용 예외로 변환 */
+    private static FileStream fromS3Error(S3Exception e, String key, String range, String ifNoneMatch) {
+        if (e instanceof NoSuchKeyException || e.statusCode() == 404) {
+            throw new FileNotFoundException("S3 object not found: " + key);
+        }
+        if (e.statusCode() == 304) {
+            String eTag = (e.awsErrorDetails() != null && e.awsErrorDetails().sdkHttpResponse() != null)
+                    ? e.awsErrorDetails().sdkHttpResponse().firstMatchingHeader("ETag").orElse(ifNoneMatch)
+                    : ifNoneMatch;
+            return new FileStream(null, null, null, null, eTag, null, true, null);
+        }
+        if (e.statusCode() == 416) {
+            throw new RangeNotSatisfiableException("Range not satisfiable: " + range);
+        }
+        throw e;
+    }
 
-            // 1) 시그니처로 판독
-            String ct = detectMime(data);
+    private FileStream toFileStream(String normalizedKey, String range, ResponseInputStream<GetObjectResponse> in) {
+        boolean hasRange = range != null && !range.isBlank();
+        GetObjectResponse meta = in.response();
+        String ct = meta.contentType();
+        InputStream body = in;
 
-            // 2) 시그니처 실패 시 확장자로 보정
+        // 업로드 시 Content-Type 이 비어 있던 객체는 앞부분 몇 바이트로 판독
+        if (ct == null || ct.isBlank() || "application/octet-stream".equalsIgnoreCase(ct)) {
+            try {
+                PushbackInputStream peek = new PushbackInputStream(in, SNIFF_BYTES);
+                byte[] head = peek.readNBytes(SNIFF_BYTES);
+                peek.unread(head);
+                body = peek;
+                ct = detectMime(head);
+            } catch (IOException e) {
+                in.abort();
+                throw new UncheckedIOException(e);
+            }
+            // 시그니처 실패 시 확장자로 보정
             if (ct == null) {
                 String guessed = guessFromKey(normalizedKey);
                 ct = (guessed != null) ? guessed : "application/octet-stream";
             }
+        }
 
-            Long len = (long) data.length;
-            return new FileObject(data, ct, len);
+        // 캐시 가능한 크기의 전체 요청이면 응답으로 흘려보내면서 캐시에도 쓴다 (끝까지 전송된 경우만 적재)
+        Long len = meta.contentLength();
+        if (!hasRange && len != null && len <= fileCache.maxCacheableBytes()
+                && !ct.toLowerCase(Locale.ROOT).startsWith("text/html")) {
+            FileCache.Meta m = new FileCache.Meta(ct, len, meta.eTag(), meta.lastModified());
+            body = fileCache.tee(normalizedKey, m, body);
+        }
 
-        } catch (NoSuchKeyException e) {
-            throw new FileNotFoundException("S3 object not found: " + key);
+        return new FileStream(body, ct, meta.contentLength(), meta.contentRange(),
+                meta.eTag(), meta.lastModified(), false, in);
+    }
+
+    /** If-None-Match 목록 중 하나라도 같으면 true (약한 비교) */
+    private static boolean etagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || eTag == null) return false;
+        String target = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || stripWeak(c).equals(target)) return true;
         }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
     }
 
     // === 간단 매직넘버 검사 ===
@@ -102,4 +261,8 @@ public class S3FileService {
     public static class FileNotFoundException extends RuntimeException {
         public FileNotFoundException(String msg) { super(msg); }
     }
+
+    public static class RangeNotSatisfiableException extends RuntimeException {
+        public RangeNotSatisfiableException(String msg) { super(msg); }
+    }
 }
@@ -12,7 +12,7 @@ import java.time.Instant;
 @Builder
 @AllArgsConstructor
 public class PhotoboothDto {
-    // ✅ 프론트 마커의 고유 key (간단히 임의 ID 사용)
+    // ✅ 프론트 마커의 고유 key (이름 + 좌표에서 만든 고정 ID → 요청이 바뀌어도 같은 지점은 같은 값)
     private String placeId;
 
     // ✅ 화면에 보여줄 이름(HTML 태그 제거된 순수 텍스트)
@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 뷰포트 증분(Delta) 조회용 요청 DTO
@@ -52,6 +53,13 @@ public class ViewportDeltaRequest {
      */
     private List<String> knownIds;
 
+    /**
+     * 칸별 버전 (지난 응답의 cellVersions 를 그대로)
+     * - key: 격자 칸 ID, value: 그 칸에서 마지막으로 받은 version
+     * - 있는 칸은 이 버전 이후 바뀐 마커만 받는다 (없으면 knownIds + sinceTs 기준)
+     */
+    private Map<Long, Long> cellVersions;
+
     // -------------------------------
     // 3) 선택 필터
     // -------------------------------
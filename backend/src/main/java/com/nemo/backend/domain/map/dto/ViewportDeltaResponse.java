@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 뷰포트 증분(Delta) 조회 응답 DTO
@@ -13,6 +14,7 @@ import java.util.List;
  * - updated : 기존에 있던 마커 중에서 내용이 바뀐 마커
  * - removed : 더 이상 이 뷰포트 안에 존재하지 않는 마커 ID
  * - serverTs: 이번 응답의 기준 시각 (다음 요청의 sinceTs로 사용)
+ * - cellVersions: 뷰포트 안에 완전히 들어간 칸의 버전 (다음 요청에 그대로)
  */
 @Data
 @Builder
@@ -46,4 +48,11 @@ public class ViewportDeltaResponse {
      *   다음 /viewport/delta 요청의 sinceTs로 보내면 된다.
      */
     private Instant serverTs;
+
+    /**
+     * 칸별 버전
+     * - 뷰포트 안에 완전히 들어간 칸만 포함 (가장자리 칸은 일부만 내려가므로 제외)
+     * - 클라이언트는 받은 값을 칸별로 덮어써 두었다가 다음 요청의 cellVersions 로 보낸다.
+     */
+    private Map<Long, Long> cellVersions;
 }
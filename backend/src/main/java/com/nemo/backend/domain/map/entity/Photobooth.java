@@ -0,0 +1,123 @@
+package com.nemo.backend.domain.map.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * 크롤러(PhotoboothCrawler)가 네이버 지역검색으로 수집해 저장한 포토부스 1곳.
+ * cellId 는 GeoGrid 격자 칸 번호 → 뷰포트 조회는 칸 단위로 찾는다.
+ * placeId 는 처음 발견될 때의 이름/좌표에서 만든 고정 ID (클라이언트 마커 key, 이후 바뀌지 않음).
+ * version 은 생성/내용 변경/제거 때마다 새로 받는 단조 증가 번호 → 뷰포트 증분 조회가 칸별로 "이 버전 이후" 만 고른다.
+ * 제거(removed)된 지점도 행을 남겨 증분 조회가 removedIds 로 알려줄 수 있게 한다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "photobooths", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"placeId"})
+}, indexes = {
+        @Index(name = "idx_photobooths_cell", columnList = "cellId"),
+        @Index(name = "idx_photobooths_version", columnList = "version")
+})
+public class Photobooth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String placeId;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String brand;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    @Column(nullable = false)
+    private Long cellId;
+
+    private String roadAddress;
+
+    @Column(length = 1000)
+    private String naverPlaceUrl;
+
+    /** 크롤링에서 마지막으로 발견된 시각 */
+    @Column(nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    /** 이름/좌표/주소 등 내용이 마지막으로 바뀐 시각 */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    /** 오래 발견되지 않아 지도에서 뺀 지점 */
+    @Column(nullable = false)
+    private boolean removed = false;
+
+    public Photobooth(String placeId, String name, String brand, double latitude, double longitude, long cellId,
+                      String roadAddress, String naverPlaceUrl, long version, LocalDateTime now) {
+        this.placeId = placeId;
+        this.name = name;
+        this.brand = brand;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.cellId = cellId;
+        this.roadAddress = roadAddress;
+        this.naverPlaceUrl = naverPlaceUrl;
+        this.version = version;
+        this.lastSeenAt = now;
+        this.updatedAt = now;
+    }
+
+    /** 다시 발견된 결과로 갱신 (제거됐던 지점은 되살림). 내용이 바뀌었으면 새 version 을 받고 true */
+    public boolean refresh(String name, String brand, double latitude, double longitude, long cellId,
+                           String roadAddress, String naverPlaceUrl, LongSupplier nextVersion, LocalDateTime now) {
+        this.lastSeenAt = now;
+        boolean changed = this.removed
+                || !Objects.equals(this.name, name)
+                || !Objects.equals(this.brand, brand)
+                || this.latitude != latitude
+                || this.longitude != longitude
+                || !Objects.equals(this.roadAddress, roadAddress)
+                || !Objects.equals(this.naverPlaceUrl, naverPlaceUrl);
+        if (!changed) return false;
+        this.name = name;
+        this.brand = brand;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.cellId = cellId;
+        this.roadAddress = roadAddress;
+        this.naverPlaceUrl = naverPlaceUrl;
+        this.removed = false;
+        this.version = nextVersion.getAsLong();
+        this.updatedAt = now;
+        return true;
+    }
+
+    public void markRemoved(long version, LocalDateTime now) {
+        this.removed = true;
+        this.version = version;
+        this.updatedAt = now;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nemo.backend.domain.map.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 격자 칸(GeoGrid cellId)별 크롤링 상태.
+ * 한 번도 크롤링하지 않았거나 오래된 칸만 네이버로 다시 채운다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "photobooth_cells")
+public class PhotoboothCell {
+
+    @Id
+    private Long cellId;
+
+    @Column(nullable = false)
+    private LocalDateTime crawledAt;
+
+    public PhotoboothCell(Long cellId, LocalDateTime crawledAt) {
+        this.cellId = cellId;
+        this.crawledAt = crawledAt;
+    }
+
+    public void markCrawled(LocalDateTime now) {
+        this.crawledAt = now;
+    }
+}
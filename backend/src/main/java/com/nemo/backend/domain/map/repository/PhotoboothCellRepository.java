@@ -0,0 +1,13 @@
+package com.nemo.backend.domain.map.repository;
+
+import com.nemo.backend.domain.map.entity.PhotoboothCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PhotoboothCellRepository extends JpaRepository<PhotoboothCell, Long> {
+
+    // 인덱스 주기 동기화: 마지막 확인 이후 크롤링된 칸
+    List<PhotoboothCell> findByCrawledAtAfter(LocalDateTime since);
+}
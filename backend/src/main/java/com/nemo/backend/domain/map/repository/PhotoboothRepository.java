@@ -0,0 +1,23 @@
+package com.nemo.backend.domain.map.repository;
+
+import com.nemo.backend.domain.map.entity.Photobooth;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PhotoboothRepository extends JpaRepository<Photobooth, Long> {
+
+    // 크롤링 결과 병합: 결과가 걸친 칸들의 기존 행을 한 번에 조회
+    List<Photobooth> findByCellIdIn(Collection<Long> cellIds);
+
+    // 크롤링 결과 병합: 같은 placeId 로 이미 저장된 행 (좌표가 조금 바뀌어 다른 칸에 있어도 찾음)
+    List<Photobooth> findByPlaceIdIn(Collection<String> placeIds);
+
+    // 칸 재크롤링 후: 오래 발견되지 않은 지점 (제거 표시 대상)
+    List<Photobooth> findByCellIdAndRemovedFalseAndLastSeenAtBefore(Long cellId, LocalDateTime cutoff);
+
+    // 인덱스 주기 동기화: 로컬 최대 version 이후 저장된 행 (다른 인스턴스의 크롤러가 저장한 것)
+    List<Photobooth> findByVersionGreaterThanOrderByVersionAsc(Long version);
+}
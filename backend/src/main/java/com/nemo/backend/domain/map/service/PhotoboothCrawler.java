@@ -0,0 +1,490 @@
+package com.nemo.backend.domain.map.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nemo.backend.domain.map.entity.Photobooth;
+import com.nemo.backend.domain.map.entity.PhotoboothCell;
+import com.nemo.backend.domain.map.repository.PhotoboothCellRepository;
+import com.nemo.backend.domain.map.repository.PhotoboothRepository;
+import com.nemo.backend.domain.map.util.GeoGrid;
+import com.nemo.backend.domain.map.util.NaverApiClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 포토부스 격자 칸 크롤러 (네이버는 여기서만 호출).
+ * 1) 뷰포트 조회가 덮는 칸 중 한 번도 안 채웠거나 refresh-hours 가 지난 칸을 대기열에 넣는다
+ * 2) 주기 작업이 대기열에서 cells-per-run 칸씩 꺼내
+ *    칸 중심 역지오코딩 → "지역명 + 키워드" 지역검색(키워드별 가상 스레드, 페이지는 칸 주변 결과가 있을 때만 계속)
+ *    → 기존 행과 병합 저장
+ * 3) 커밋된 행을 PhotoboothIndex 에 반영 (생성/변경/제거 행은 새 version)
+ *    빠짐없이 끝난 크롤링 후, 그 칸에서 remove-after-hours 동안 발견되지 않은 지점은 제거 표시
+ *    행정구역이 없는 칸(바다, 국경 밖)은 검색 없이 빈 칸으로 완료 표시
+ *    호출이 실패한 칸은 retry-base-minutes 부터 두 배씩 늘린 시간 동안 다시 넣지 않는다 (최대 refresh-hours)
+ * placeId 는 "정규화한 이름 + 약 10m 로 반올림한 좌표" 해시 → 같은 지점은 언제 크롤링해도 같은 ID.
+ * 아직 아무 칸도 채워지지 않은 뷰포트는 (fill-on-miss) 중심 칸을 대기열 맨 앞에 넣는다.
+ * 요청 스레드에서는 크롤링하지 않는다 (응답은 인덱스에 있는 만큼, 다음 주기에 채워짐).
+ * version 은 PhotoboothIndex 가 인스턴스 메모리에서 발급하므로 기본값은 꺼짐 → 한 인스턴스에서만 켠다.
+ * 한 번도 크롤링하지 않은 뷰포트는 lookupUncrawled 가 저장 없이 바로 찾아준다 (크롤러가 꺼진 설치에서도 마커가 보이게).
+ */
+@Slf4j
+@Component
+public class PhotoboothCrawler {
+
+    // 🔍 기본 검색 키워드(브랜드 + 일반 키워드)
+    private static final List<String> KEYWORDS = List.of(
+            "포토부스", "인생네컷", "하루필름", "포토이즘", "포토시그널", "포토그레이", "돈룩업"
+    );
+
+    private static final int PAGE_SIZE = 5;               // 네이버 LocalSearch 최대 display=5
+    private static final int MAX_PAGES_PER_KEYWORD = 4;   // 한 키워드당 최대 20개 수집
+    private static final int SAME_PLACE_METER = 50;       // 이 거리 안 + 이름 유사 → 같은 지점
+    private static final int NEAR_METER = 3000;           // 칸 중심에서 이 안의 결과가 없는 페이지 → 더 넘기지 않음
+
+    /** 지역검색 결과 1건 (가공 후) */
+    private record Candidate(String placeId, String name, String brand, double latitude, double longitude,
+                             String roadAddress, String naverPlaceUrl) {
+    }
+
+    /** 실패한 칸의 재시도 상태 */
+    private record Backoff(int failures, LocalDateTime retryAt) {
+    }
+
+    private final NaverApiClient naverApiClient;
+    private final PhotoboothRepository photoboothRepository;
+    private final PhotoboothCellRepository cellRepository;
+    private final PhotoboothIndex index;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final boolean fillOnMiss;
+    private final long refreshHours;
+    private final long removeAfterHours;
+    private final int cellsPerRun;
+    private final int maxPending;
+    private final int maxCellsPerRequest;
+    private final long retryBaseMinutes;
+    private final boolean liveFallback;
+    private final long liveTimeoutMs;
+
+    private final ConcurrentLinkedDeque<Long> queue = new ConcurrentLinkedDeque<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Backoff> backoff;
+    private final Object publishLock = new Object();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PhotoboothCrawler(NaverApiClient naverApiClient,
+                             PhotoboothRepository photoboothRepository,
+                             PhotoboothCellRepository cellRepository,
+                             PhotoboothIndex index,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.map.crawler.enabled:false}") boolean enabled,
+                             @Value("${app.map.crawler.fill-on-miss:true}") boolean fillOnMiss,
+                             @Value("${app.map.crawler.refresh-hours:168}") long refreshHours,
+                             @Value("${app.map.crawler.remove-after-hours:720}") long removeAfterHours,
+                             @Value("${app.map.crawler.cells-per-run:2}") int cellsPerRun,
+                             @Value("${app.map.crawler.max-pending:1000}") int maxPending,
+                             @Value("${app.map.crawler.max-cells-per-request:16}") int maxCellsPerRequest,
+                             @Value("${app.map.crawler.retry-base-minutes:10}") long retryBaseMinutes,
+                             @Value("${app.map.live-fallback.enabled:true}") boolean liveFallback,
+                             @Value("${app.map.live-fallback.timeout-ms:3000}") long liveTimeoutMs) {
+        this.naverApiClient = naverApiClient;
+        this.photoboothRepository = photoboothRepository;
+        this.cellRepository = cellRepository;
+        this.index = index;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.fillOnMiss = fillOnMiss;
+        this.refreshHours = refreshHours;
+        this.removeAfterHours = removeAfterHours;
+        this.cellsPerRun = Math.max(1, cellsPerRun);
+        this.maxPending = Math.max(1, maxPending);
+        this.maxCellsPerRequest = Math.max(1, maxCellsPerRequest);
+        this.retryBaseMinutes = Math.max(1, retryBaseMinutes);
+        this.liveFallback = liveFallback;
+        this.liveTimeoutMs = Math.max(1, liveTimeoutMs);
+        this.backoff = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(Math.max(1, refreshHours)))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 뷰포트 조회 시 호출: 크롤링이 필요한 칸을 대기열에 넣는다.
+     * 넓은 뷰포트(줌 아웃)는 칸이 너무 많아 건너뛴다.
+     */
+    public void onViewport(double swLat, double swLng, double neLat, double neLng) {
+        if (!enabled) return;
+        if (GeoGrid.countCovering(swLat, swLng, neLat, neLng) > maxCellsPerRequest) return;
+
+        List<Long> cells = GeoGrid.covering(swLat, swLng, neLat, neLng);
+        if (fillOnMiss && cells.stream().allMatch(c -> index.crawledAt(c) == null)) {
+            // 처음 보는 지역: 중심 칸을 맨 앞으로 (이미 대기 중이면 앞으로 옮김)
+            long center = GeoGrid.cellOf((swLat + neLat) / 2.0, (swLng + neLng) / 2.0);
+            if (needsCrawl(center) && (queue.remove(center) || (queued.size() < maxPending && queued.add(center)))) {
+                queue.addFirst(center);
+            }
+        }
+        for (Long cellId : cells) {
+            if (needsCrawl(cellId) && queued.size() < maxPending && queued.add(cellId)) {
+                queue.add(cellId);
+            }
+        }
+    }
+
+    /**
+     * 뷰포트를 덮는 칸이 모두 한 번도 크롤링되지 않았을 때의 즉석 조회 (저장/버전 발급 없음).
+     * 중심 행정구역 + 키워드별 첫 페이지만, timeout-ms 안에 온 결과만 쓴다
+     * → 요청당 네이버 호출은 최대 1 + 키워드 수, 같은 검색어는 NaverApiClient 응답 캐시가 받는다.
+     * 늦은 호출은 취소하지 않고 끝나게 둔다 (결과가 캐시에 남아 다음 조회가 바로 받음).
+     */
+    public List<PhotoboothIndex.IndexedBooth> lookupUncrawled(double swLat, double swLng, double neLat, double neLng) {
+        if (!liveFallback) return List.of();
+        if (GeoGrid.countCovering(swLat, swLng, neLat, neLng) > maxCellsPerRequest) return List.of();
+        if (GeoGrid.covering(swLat, swLng, neLat, neLng).stream().anyMatch(c -> index.crawledAt(c) != null)) {
+            return List.of();
+        }
+
+        Optional<String> region;
+        try {
+            region = naverApiClient.regionOf((swLat + neLat) / 2.0, (swLng + neLng) / 2.0).filter(r -> !r.isBlank());
+        } catch (Exception e) {
+            log.debug("[MAP][LIVE] reverse geocode failed: {}", e.toString());
+            return List.of();
+        }
+        if (region.isEmpty()) return List.of();
+
+        List<Future<Map<String, Object>>> futures = new ArrayList<>(KEYWORDS.size());
+        for (String base : KEYWORDS) {
+            String kw = region.get() + " " + base;
+            futures.add(executor.submit(() -> naverApiClient.searchLocal(kw, PAGE_SIZE, 1, "random")));
+        }
+        long deadline = System.nanoTime() + liveTimeoutMs * 1_000_000L;
+        List<Candidate> raw = new ArrayList<>();
+        for (Future<Map<String, Object>> f : futures) {
+            try {
+                for (Map<String, Object> item : extractItems(f.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))) {
+                    Candidate c = toCandidate(item);
+                    if (c.latitude() != 0 && c.longitude() != 0) raw.add(c);
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("[MAP][LIVE] keyword search skipped: {}", e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return dedupe(raw).stream()
+                .filter(c -> c.latitude() >= swLat && c.latitude() <= neLat
+                        && c.longitude() >= swLng && c.longitude() <= neLng)
+                .map(c -> new PhotoboothIndex.IndexedBooth(null, c.placeId(), c.name(), c.brand(),
+                        c.latitude(), c.longitude(), GeoGrid.cellOf(c.latitude(), c.longitude()),
+                        c.roadAddress(), c.naverPlaceUrl(), now, 0L, false))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.map.crawler.interval-ms:5000}")
+    public void scheduledCrawl() {
+        if (!enabled) return;
+        for (int i = 0; i < cellsPerRun; i++) {
+            Long cellId = queue.poll();
+            if (cellId == null) return;
+            queued.remove(cellId);
+            if (!needsCrawl(cellId)) continue; // 대기 중에 이미 채워진 칸
+            try {
+                crawlCell(cellId);
+            } catch (Exception e) {
+                log.warn("[MAP][CRAWL] cell={} failed: {}", cellId, e.toString());
+            }
+        }
+    }
+
+    /**
+     * 한 칸 크롤링 + 병합 저장 + 인덱스 반영.
+     * 다른 스레드가 같은 칸을 크롤링 중이면 기다리지 않고 false.
+     */
+    public boolean crawlCell(long cellId) {
+        if (!inFlight.add(cellId)) return false;
+        try {
+            double lat = GeoGrid.centerLat(cellId);
+            double lng = GeoGrid.centerLng(cellId);
+
+            Optional<String> region;
+            try {
+                region = naverApiClient.regionOf(lat, lng).filter(r -> !r.isBlank());
+            } catch (Exception e) {
+                // 호출 실패 → 전국 검색으로 대신하지 않고 나중에 다시
+                log.warn("[MAP][CRAWL] cell={} reverse geocode failed: {}", cellId, e.toString());
+                recordFailure(cellId);
+                return false;
+            }
+            // 행정구역이 없는 칸(바다, 국경 밖)은 검색어가 없다 → 빈 칸으로 완료 표시, refresh-hours 뒤에 다시 확인
+            List<String> searchKeywords = new ArrayList<>();
+            region.ifPresent(r -> KEYWORDS.forEach(base -> searchKeywords.add(r + " " + base)));
+
+            // 키워드별 페이지 순회를 가상 스레드에서 동시에 (호출 속도는 NaverApiClient 토큰 버킷이 제한)
+            List<Future<List<Candidate>>> futures = new ArrayList<>(searchKeywords.size());
+            for (String kw : searchKeywords) {
+                futures.add(executor.submit(() -> searchAllPages(kw, lat, lng)));
+            }
+
+            boolean complete = true;
+            List<Candidate> raw = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    raw.addAll(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    complete = false;
+                    log.warn("[MAP][CRAWL] cell={} keyword='{}' failed: {}", cellId, searchKeywords.get(i), String.valueOf(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    return false;
+                }
+            }
+
+            List<Candidate> candidates = dedupe(raw);
+
+            LocalDateTime now = LocalDateTime.now();
+            boolean markCrawled = complete;
+            // 저장 + 인덱스 반영은 한 번에 하나씩: 버전 순서대로 인덱스에 보여야 증분 조회가 놓치지 않는다
+            List<Photobooth> changed;
+            synchronized (publishLock) {
+                changed = tx.execute(status -> merge(candidates, cellId, markCrawled, now));
+                if (changed != null) index.putAll(changed);
+            }
+            if (markCrawled) {
+                index.markCrawled(cellId, now);
+                backoff.invalidate(cellId);
+            } else {
+                recordFailure(cellId);
+            }
+
+            log.info("[MAP][CRAWL] cell={}, region='{}', raw={}, candidates={}, changed={}, complete={}",
+                    cellId, region.orElse(null), raw.size(), candidates.size(),
+                    changed == null ? 0 : changed.size(), complete);
+            return true;
+        } finally {
+            inFlight.remove(cellId);
+        }
+    }
+
+    private boolean needsCrawl(long cellId) {
+        LocalDateTime now = LocalDateTime.now();
+        Backoff b = backoff.getIfPresent(cellId);
+        if (b != null && b.retryAt().isAfter(now)) return false;
+        LocalDateTime at = index.crawledAt(cellId);
+        return at == null || at.isBefore(now.minusHours(refreshHours));
+    }
+
+    // 실패할 때마다 재시도 간격 두 배 (retry-base-minutes → 최대 refresh-hours)
+    private void recordFailure(long cellId) {
+        Backoff prev = backoff.getIfPresent(cellId);
+        int failures = prev == null ? 1 : prev.failures() + 1;
+        long minutes = Math.min(refreshHours * 60, retryBaseMinutes << Math.min(failures - 1, 20));
+        backoff.put(cellId, new Backoff(failures, LocalDateTime.now().plusMinutes(minutes)));
+        log.info("[MAP][CRAWL] cell={} retry in {}m (failures={})", cellId, minutes, failures);
+    }
+
+    /**
+     * 한 키워드의 페이지를 차례로 가져온다 (좌표 없는 결과 제외).
+     * 한 페이지 결과가 모두 칸 중심에서 NEAR_METER 밖이면 다음 페이지도 다른 지역이라 보고 멈춘다.
+     */
+    private List<Candidate> searchAllPages(String kw, double centerLat, double centerLng) {
+        List<Candidate> out = new ArrayList<>();
+        for (int page = 1; page <= MAX_PAGES_PER_KEYWORD; page++) {
+            // start는 1부터 시작 (1, 6, 11, 16...)
+            int start = 1 + (page - 1) * PAGE_SIZE;
+            List<Map<String, Object>> items = extractItems(naverApiClient.searchLocal(kw, PAGE_SIZE, start, "random"));
+            boolean anyNear = false;
+            for (Map<String, Object> item : items) {
+                Candidate c = toCandidate(item);
+                if (c.latitude() == 0 || c.longitude() == 0) continue; // 좌표 없는 경우 제외
+                out.add(c);
+                anyNear |= GeoGrid.distanceMeter(centerLat, centerLng, c.latitude(), c.longitude()) <= NEAR_METER;
+            }
+            if (items.size() < PAGE_SIZE) break; // 마지막 페이지
+            if (!anyNear) break;                 // 칸 주변을 벗어난 결과만 나옴
+        }
+        return out;
+    }
+
+    /** 기존 행과 병합. 새로 만들었거나 내용이 바뀌었거나 제거 표시한 행을 반환 */
+    private List<Photobooth> merge(List<Candidate> candidates, long cellId, boolean markCrawled, LocalDateTime now) {
+        // 결과 주변 칸(±약 50m)까지 읽어야 칸 경계에 걸친 같은 지점을 찾는다
+        Set<Long> cells = new HashSet<>();
+        double pad = 0.0005;
+        for (Candidate c : candidates) {
+            cells.addAll(GeoGrid.covering(c.latitude() - pad, c.longitude() - pad, c.latitude() + pad, c.longitude() + pad));
+        }
+        Map<Long, Photobooth> byId = new LinkedHashMap<>();
+        if (!cells.isEmpty()) {
+            photoboothRepository.findByCellIdIn(cells).forEach(p -> byId.put(p.getId(), p));
+            photoboothRepository.findByPlaceIdIn(candidates.stream().map(Candidate::placeId).toList())
+                    .forEach(p -> byId.put(p.getId(), p));
+        }
+        List<Photobooth> existing = new ArrayList<>(byId.values());
+
+        List<Photobooth> changed = new ArrayList<>();
+        for (Candidate c : candidates) {
+            long cell = GeoGrid.cellOf(c.latitude(), c.longitude());
+            // placeId 일치 우선, 없으면 50m + 이름 규칙 (기존 행의 placeId 는 유지 → 좌표가 조금 바뀌어도 ID 고정)
+            Photobooth match = existing.stream()
+                    .filter(p -> p.getPlaceId().equals(c.placeId()))
+                    .findFirst()
+                    .or(() -> existing.stream()
+                            .filter(p -> samePlace(p.getLatitude(), p.getLongitude(), p.getName(), c.latitude(), c.longitude(), c.name()))
+                            .findFirst())
+                    .orElse(null);
+            if (match == null) {
+                Photobooth row = photoboothRepository.save(new Photobooth(c.placeId(), c.name(), c.brand(),
+                        c.latitude(), c.longitude(), cell, c.roadAddress(), c.naverPlaceUrl(), index.nextVersion(), now));
+                existing.add(row);
+                changed.add(row);
+            } else if (match.refresh(c.name(), c.brand(), c.latitude(), c.longitude(), cell,
+                    c.roadAddress(), c.naverPlaceUrl(), index::nextVersion, now)) {
+                changed.add(match);
+            }
+        }
+
+        if (markCrawled) {
+            // 이번 크롤링에서 다시 발견된 행은 lastSeenAt = now 라 대상이 아니다
+            for (Photobooth gone : photoboothRepository.findByCellIdAndRemovedFalseAndLastSeenAtBefore(
+                    cellId, now.minusHours(removeAfterHours))) {
+                gone.markRemoved(index.nextVersion(), now);
+                changed.add(gone);
+            }
+            cellRepository.findById(cellId).ifPresentOrElse(
+                    row -> row.markCrawled(now),
+                    () -> cellRepository.save(new PhotoboothCell(cellId, now)));
+        }
+        return changed;
+    }
+
+    // ───────────────────────────────────────────────
+    // helpers
+    // ───────────────────────────────────────────────
+
+    // 네이버 검색 결과 특성상 동일한 지점이 여러 키워드에서 중복으로 나올 수 있음
+    private static List<Candidate> dedupe(List<Candidate> all) {
+        List<Candidate> deduped = new ArrayList<>();
+        for (Candidate cur : all) {
+            boolean dup = deduped.stream().anyMatch(x ->
+                    samePlace(x.latitude(), x.longitude(), x.name(), cur.latitude(), cur.longitude(), cur.name()));
+            if (!dup) deduped.add(cur);
+        }
+        return deduped;
+    }
+
+    // 50m 이내 + 이름 유사
+    private static boolean samePlace(double lat1, double lng1, String name1, double lat2, double lng2, String name2) {
+        return GeoGrid.distanceMeter(lat1, lng1, lat2, lng2) < SAME_PLACE_METER
+                && (core(name1).contains(core(name2)) || core(name2).contains(core(name1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> extractItems(Map<String, Object> response) {
+        if (response == null) return List.of();
+        Object items = response.get("items");
+        if (items instanceof List<?> list) {
+            return (List<Map<String, Object>>) list;
+        }
+        return List.of();
+    }
+
+    // 네이버 지역검색 응답 item → Candidate 변환
+    private static Candidate toCandidate(Map<String, Object> item) {
+        double lon = parseCoord(safeStr(item.get("mapx"))); // 경도
+        double lat = parseCoord(safeStr(item.get("mapy"))); // 위도
+        String name = removeHtml(safeStr(item.get("title")));
+        return new Candidate(placeIdOf(name, lat, lon), name, guessBrand(name), lat, lon,
+                safeStr(item.get("roadAddress")), safeStr(item.get("link")));
+    }
+
+    /**
+     * 고정 placeId: "pb_" + SHA-256(정규화 이름 | 위도 | 경도) 앞 16자리.
+     * 좌표는 소수점 4자리(약 10m)로 반올림 → 검색마다 미세하게 달라지는 좌표에도 같은 값.
+     * (네이버 link 는 비어 있거나 브랜드 홈페이지라 지점마다 같아서 쓰지 않는다)
+     */
+    static String placeIdOf(String name, double lat, double lng) {
+        String key = core(name).toLowerCase(Locale.ROOT)
+                + "|" + String.format(Locale.ROOT, "%.4f", lat)
+                + "|" + String.format(Locale.ROOT, "%.4f", lng);
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(key.getBytes(StandardCharsets.UTF_8));
+            return "pb_" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double parseCoord(String v) {
+        if (v == null || v.isBlank()) return 0.0;
+        try {
+            return Double.parseDouble(v) / 1e7;
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private static String safeStr(Object o) {
+        return o == null ? "" : String.valueOf(o);
+    }
+
+    private static String removeHtml(String s) {
+        if (s == null) return "";
+        return s.replaceAll("<[^>]*>", "");
+    }
+
+    // 간단 브랜드 추정 로직
+    private static String guessBrand(String name) {
+        if (name == null) return "기타";
+        if (name.contains("인생네컷")) return "인생네컷";
+        if (name.contains("하루필름")) return "하루필름";
+        if (name.contains("포토이즘")) return "포토이즘";
+        if (name.contains("포토시그널")) return "포토시그널";
+        if (name.contains("포토그레이")) return "포토그레이";
+        if (name.contains("돈룩업")) return "돈룩업";
+        return "기타";
+    }
+
+    private static String core(String n) {
+        return n == null ? "" : n.replace(" ", "");
+    }
+}
@@ -0,0 +1,204 @@
+package com.nemo.backend.domain.map.service;
+
+import com.nemo.backend.domain.map.entity.Photobooth;
+import com.nemo.backend.domain.map.entity.PhotoboothCell;
+import com.nemo.backend.domain.map.repository.PhotoboothCellRepository;
+import com.nemo.backend.domain.map.repository.PhotoboothRepository;
+import com.nemo.backend.domain.map.util.GeoGrid;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포토부스 메모리 공간 인덱스 (GeoGrid 칸 → 칸 안의 포토부스).
+ * - 빈 초기화 때(요청을 받기 전) photobooths / photobooth_cells 를 한 번 읽어 채우고, 이후에는 크롤러가 저장한 행을 반영한다
+ * - 뷰포트 조회는 덮는 칸만 찾아보므로 DB/네이버 호출 없이 끝난다
+ * - 뷰포트가 넓어 덮는 칸 수가 채워진 칸 수보다 많으면 채워진 칸을 훑는다
+ * - 칸마다 안에 든 행의 최대 version 을 들고 있어, 증분 조회는 버전이 앞선 칸만 열어본다
+ *   (버전 번호는 이 인스턴스가 발급 → 크롤러는 한 인스턴스에서만 켠다)
+ * - 크롤러가 꺼진 인스턴스는 reload-interval-ms 마다 로컬 최대 version 이후의 행과 새로 크롤링된 칸을 가져온다
+ */
+@Slf4j
+@Component
+public class PhotoboothIndex {
+
+    /** 인덱스에 두는 읽기 전용 사본 (엔티티는 영속성 컨텍스트 밖에서 공유하지 않음) */
+    public record IndexedBooth(Long id, String placeId, String name, String brand, double latitude, double longitude,
+                               long cellId, String roadAddress, String naverPlaceUrl, LocalDateTime updatedAt,
+                               long version, boolean removed) {
+
+        static IndexedBooth of(Photobooth p) {
+            return new IndexedBooth(p.getId(), p.getPlaceId(), p.getName(), p.getBrand(), p.getLatitude(), p.getLongitude(),
+                    p.getCellId(), p.getRoadAddress(), p.getNaverPlaceUrl(), p.getUpdatedAt(),
+                    p.getVersion(), p.isRemoved());
+        }
+    }
+
+    /** 칸 하나: 포토부스 + 최대 version */
+    private static final class Cell {
+        final Map<Long, IndexedBooth> booths = new ConcurrentHashMap<>();
+        final AtomicLong maxVersion = new AtomicLong();
+    }
+
+    private final PhotoboothRepository photoboothRepository;
+    private final PhotoboothCellRepository cellRepository;
+
+    private final Map<Long, Cell> byCell = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellOfId = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> crawledAt = new ConcurrentHashMap<>();
+    private final AtomicLong versionSeq = new AtomicLong();
+    private volatile LocalDateTime cellsSyncedAt;
+
+    public PhotoboothIndex(PhotoboothRepository photoboothRepository,
+                           PhotoboothCellRepository cellRepository) {
+        this.photoboothRepository = photoboothRepository;
+        this.cellRepository = cellRepository;
+    }
+
+    /** 버전 번호가 DB 최대값 위에서 이어지도록 첫 요청/크롤링 전에 채운다 */
+    @PostConstruct
+    public void load() {
+        cellsSyncedAt = LocalDateTime.now();
+        List<Photobooth> rows = photoboothRepository.findAll();
+        rows.forEach(this::put);
+        for (PhotoboothCell c : cellRepository.findAll()) {
+            crawledAt.put(c.getCellId(), c.getCrawledAt());
+        }
+        log.info("[MAP][INDEX] loaded booths={}, cells={}, crawledCells={}, version={}",
+                rows.size(), byCell.size(), crawledAt.size(), versionSeq.get());
+    }
+
+    /**
+     * 다른 인스턴스가 저장한 변경 반영.
+     * 크롤러는 version 순서대로 커밋하므로 로컬 최대 version 이후만 읽으면 빠지는 행이 없다.
+     * 칸 crawledAt 은 저장한 인스턴스 시계 기준이라 마지막 확인 시각보다 조금 앞부터 다시 읽는다 (같은 값은 덮어써도 무해).
+     */
+    @Scheduled(fixedDelayString = "${app.map.index.reload-interval-ms:60000}",
+            initialDelayString = "${app.map.index.reload-interval-ms:60000}")
+    public void reload() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Photobooth> rows = photoboothRepository.findByVersionGreaterThanOrderByVersionAsc(versionSeq.get());
+        rows.forEach(this::put);
+        List<PhotoboothCell> cells = cellRepository.findByCrawledAtAfter(cellsSyncedAt.minusMinutes(5));
+        for (PhotoboothCell c : cells) {
+            crawledAt.merge(c.getCellId(), c.getCrawledAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        cellsSyncedAt = startedAt;
+        if (!rows.isEmpty()) {
+            log.info("[MAP][INDEX] reloaded booths={}, cells={}, version={}", rows.size(), cells.size(), versionSeq.get());
+        }
+    }
+
+    /** 새 행/변경/제거에 붙일 다음 version */
+    public long nextVersion() {
+        return versionSeq.incrementAndGet();
+    }
+
+    /** 저장(커밋)된 행을 인덱스에 반영. 칸이 바뀐 행은 이전 칸에서 뺀다 */
+    public void put(Photobooth p) {
+        IndexedBooth booth = IndexedBooth.of(p);
+        versionSeq.accumulateAndGet(booth.version(), Math::max);
+        Long prevCell = cellOfId.put(booth.id(), booth.cellId());
+        if (prevCell != null && prevCell != booth.cellId()) {
+            Cell prev = byCell.get(prevCell);
+            if (prev != null) prev.booths.remove(booth.id());
+        }
+        Cell cell = byCell.computeIfAbsent(booth.cellId(), k -> new Cell());
+        cell.booths.put(booth.id(), booth);
+        cell.maxVersion.accumulateAndGet(booth.version(), Math::max);
+    }
+
+    public void putAll(Collection<Photobooth> rows) {
+        rows.forEach(this::put);
+    }
+
+    public void markCrawled(long cellId, LocalDateTime at) {
+        crawledAt.put(cellId, at);
+    }
+
+    /** 마지막 크롤링 시각 (없으면 null) */
+    public LocalDateTime crawledAt(long cellId) {
+        return crawledAt.get(cellId);
+    }
+
+    /** 뷰포트 안의 포토부스 (제거된 지점 제외) */
+    public List<IndexedBooth> query(double swLat, double swLng, double neLat, double neLng) {
+        return query(swLat, swLng, neLat, neLng, false, Set.of());
+    }
+
+    /**
+     * 뷰포트 안의 포토부스 (증분 조회용).
+     * includeRemoved 면 제거 표시된 지점도 포함, skipCells 칸은 건너뛴다
+     */
+    public List<IndexedBooth> query(double swLat, double swLng, double neLat, double neLng,
+                                    boolean includeRemoved, Set<Long> skipCells) {
+        List<IndexedBooth> out = new ArrayList<>();
+        for (Map.Entry<Long, Cell> e : cellsIn(swLat, swLng, neLat, neLng).entrySet()) {
+            if (skipCells.contains(e.getKey())) continue;
+            for (IndexedBooth b : e.getValue().booths.values()) {
+                if ((includeRemoved || !b.removed()) && inside(b, swLat, swLng, neLat, neLng)) {
+                    out.add(b);
+                }
+            }
+        }
+        return out;
+    }
+
+    /** 뷰포트 안에 완전히 들어가는 (채워진) 칸의 최대 version */
+    public Map<Long, Long> versionsWithin(double swLat, double swLng, double neLat, double neLng) {
+        Map<Long, Long> out = new LinkedHashMap<>();
+        cellsIn(swLat, swLng, neLat, neLng).forEach((cellId, cell) -> {
+            if (GeoGrid.within(cellId, swLat, swLng, neLat, neLng)) {
+                out.put(cellId, cell.maxVersion.get());
+            }
+        });
+        return out;
+    }
+
+    /** 칸 안에서 sinceVersion 이후 바뀐 행 (제거 포함). 칸 버전이 앞서지 않으면 행을 보지 않는다 */
+    public List<IndexedBooth> changedSince(long cellId, long sinceVersion) {
+        Cell cell = byCell.get(cellId);
+        if (cell == null || cell.maxVersion.get() <= sinceVersion) return List.of();
+        List<IndexedBooth> out = new ArrayList<>();
+        for (IndexedBooth b : cell.booths.values()) {
+            if (b.version() > sinceVersion) out.add(b);
+        }
+        return out;
+    }
+
+    public int size() {
+        return cellOfId.size();
+    }
+
+    // 덮는 칸이 채워진 칸보다 많으면 채워진 칸을 훑는다
+    private Map<Long, Cell> cellsIn(double swLat, double swLng, double neLat, double neLng) {
+        Map<Long, Cell> out = new LinkedHashMap<>();
+        if (GeoGrid.countCovering(swLat, swLng, neLat, neLng) <= byCell.size()) {
+            for (Long cellId : GeoGrid.covering(swLat, swLng, neLat, neLng)) {
+                Cell cell = byCell.get(cellId);
+                if (cell != null) out.put(cellId, cell);
+            }
+        } else {
+            byCell.forEach((cellId, cell) -> {
+                if (GeoGrid.intersects(cellId, swLat, swLng, neLat, neLng)) out.put(cellId, cell);
+            });
+        }
+        return out;
+    }
+
+    private static boolean inside(IndexedBooth b, double swLat, double swLng, double neLat, double neLng) {
+        return b.latitude() >= swLat && b.latitude() <= neLat
+                && b.longitude() >= swLng && b.longitude() <= neLng;
+    }
+}
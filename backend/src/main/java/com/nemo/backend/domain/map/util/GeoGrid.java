@@ -0,0 +1,99 @@
+package com.nemo.backend.domain.map.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포토부스 공간 인덱스용 고정 격자.
+ * - 위도/경도를 CELL_DEG(0.01°, 약 1.1km × 0.9km) 단위로 자른 칸 번호(cellId)를 쓴다
+ * - cellId = 위도칸 * 100000 + 경도칸 (경도칸은 0 ~ 35999)
+ * - 칸 크기를 바꾸면 저장된 cellId 가 모두 달라지므로 상수로 고정한다
+ */
+public final class GeoGrid {
+
+    public static final double CELL_DEG = 0.01;
+    private static final long LNG_SPAN = 100_000L;
+
+    private GeoGrid() {
+    }
+
+    public static long cellOf(double lat, double lng) {
+        return latIndex(lat) * LNG_SPAN + lngIndex(lng);
+    }
+
+    /** 뷰포트(남서~북동)를 덮는 칸 수 (칸 목록을 만들지 않고 계산) */
+    public static long countCovering(double swLat, double swLng, double neLat, double neLng) {
+        long rows = latIndex(neLat) - latIndex(swLat) + 1;
+        long cols = lngIndex(neLng) - lngIndex(swLng) + 1;
+        return rows * cols;
+    }
+
+    /** 뷰포트(남서~북동)를 덮는 칸 목록 */
+    public static List<Long> covering(double swLat, double swLng, double neLat, double neLng) {
+        long lat0 = latIndex(swLat), lat1 = latIndex(neLat);
+        long lng0 = lngIndex(swLng), lng1 = lngIndex(neLng);
+        List<Long> cells = new ArrayList<>((int) ((lat1 - lat0 + 1) * (lng1 - lng0 + 1)));
+        for (long la = lat0; la <= lat1; la++) {
+            for (long ln = lng0; ln <= lng1; ln++) {
+                cells.add(la * LNG_SPAN + ln);
+            }
+        }
+        return cells;
+    }
+
+    /** 칸 중심 위도 */
+    public static double centerLat(long cellId) {
+        return minLat(cellId) + CELL_DEG / 2.0;
+    }
+
+    /** 칸 중심 경도 */
+    public static double centerLng(long cellId) {
+        return minLng(cellId) + CELL_DEG / 2.0;
+    }
+
+    private static double minLat(long cellId) {
+        return (cellId / LNG_SPAN) * CELL_DEG - 90.0;
+    }
+
+    private static double minLng(long cellId) {
+        return (cellId % LNG_SPAN) * CELL_DEG - 180.0;
+    }
+
+    /** 칸 전체가 뷰포트 안에 들어가는지 */
+    public static boolean within(long cellId, double swLat, double swLng, double neLat, double neLng) {
+        double lat0 = minLat(cellId), lng0 = minLng(cellId);
+        return lat0 >= swLat && lat0 + CELL_DEG <= neLat
+                && lng0 >= swLng && lng0 + CELL_DEG <= neLng;
+    }
+
+    /** 칸이 뷰포트와 겹치는지 */
+    public static boolean intersects(long cellId, double swLat, double swLng, double neLat, double neLng) {
+        double lat0 = minLat(cellId), lng0 = minLng(cellId);
+        return lat0 <= neLat && lat0 + CELL_DEG >= swLat
+                && lng0 <= neLng && lng0 + CELL_DEG >= swLng;
+    }
+
+    /** 하버사인 거리(m) */
+    public static int distanceMeter(double lat1, double lng1, double lat2, double lng2) {
+        double R = 6371000;
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat/2) * Math.sin(dLat/2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng/2) * Math.sin(dLng/2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return (int) Math.round(R * c);
+    }
+
+    private static long latIndex(double lat) {
+        return (long) Math.floor((clamp(lat, -90.0, 90.0) + 90.0) / CELL_DEG);
+    }
+
+    private static long lngIndex(double lng) {
+        return (long) Math.floor((clamp(lng, -180.0, 180.0) + 180.0) / CELL_DEG);
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
@@ -1,6 +1,11 @@
 // src/main/java/com/nemo/backend/domain/map/util/NaverApiClient.java
 package com.nemo.backend.domain.map.util;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,8 +22,10 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
@@ -53,23 +60,58 @@ public class NaverApiClient {
     private String mapClientSecret;
 
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
 
     // ───────────────────────────────────────────────────────────────
-    // (A) 간단 캐시: 같은 요청(같은 URI)은 2분간 재사용
-    //     - Local Search / Reverse Geocode 둘 다 공통으로 사용
-    //     - key: 완성된 URI 문자열, value: 캐시 항목(응답+저장시각)
+    // (A) 응답 캐시 (Caffeine): key = 완성된 URI 문자열, value = 응답 JSON
+    //     - API 별로 따로: 행정구역은 거의 안 바뀌어 길게, 검색 결과는 짧게
+    //     - 응답 크기 가중치 상한(max-weight-mb) → 키가 아무리 다양해도 힙 사용량 고정
+    //     - 같은 키 동시 미스는 한 번만 호출하고 나머지는 그 결과를 기다림
+    //     - 실패한 호출은 남기지 않음 / 지표: naver.cache.local.*, naver.cache.reverse.*
     // ───────────────────────────────────────────────────────────────
-    private static final long CACHE_TTL_MILLIS = Duration.ofMinutes(2).toMillis();
-    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    @Value("${naver.openapi.local.cache.ttl-minutes:30}")
+    private long localCacheTtlMinutes;
 
-    private record CacheEntry(Map<String, Object> body, long savedAtMs) {}
+    @Value("${naver.openapi.local.cache.max-weight-mb:32}")
+    private long localCacheMaxWeightMb;
+
+    @Value("${naver.openapi.reverse.cache.ttl-hours:72}")
+    private long reverseCacheTtlHours;
+
+    @Value("${naver.openapi.reverse.cache.max-weight-mb:8}")
+    private long reverseCacheMaxWeightMb;
+
+    private AsyncCache<String, Map<String, Object>> localCache;
+    private AsyncCache<String, Map<String, Object>> reverseCache;
     // ───────────────────────────────────────────────────────────────
 
     // ───────────────────────────────────────────────────────────────
-    // (B) 아주 단순한 레이트 리미터: 외부 호출 사이 최소 간격 200ms 확보(초당 최대 5회)
+    // (B) 레이트 리미터: 키(자격증명)별 토큰 버킷
+    //     - Local Search(개발자센터 키) / Reverse Geocode(NCP 키) 한도가 따로라 버킷도 따로
+    //     - 여러 스레드가 동시에 불러도 버킷 속도 이상으로는 나가지 않음
     // ───────────────────────────────────────────────────────────────
-    private static final long MIN_INTERVAL_MS = 200;
-    private final AtomicLong lastCallAt = new AtomicLong(0);
+    @Value("${naver.openapi.local.rate-limit.per-second:5}")
+    private double localPermitsPerSecond;
+
+    @Value("${naver.openapi.local.rate-limit.burst:5}")
+    private double localBurst;
+
+    @Value("${naver.openapi.reverse.rate-limit.per-second:10}")
+    private double reversePermitsPerSecond;
+
+    @Value("${naver.openapi.reverse.rate-limit.burst:10}")
+    private double reverseBurst;
+
+    private TokenBucket localLimiter;
+    private TokenBucket reverseLimiter;
+
+    @PostConstruct
+    void init() {
+        localLimiter = new TokenBucket(localPermitsPerSecond, localBurst);
+        reverseLimiter = new TokenBucket(reversePermitsPerSecond, reverseBurst);
+        localCache = buildCache(Duration.ofMinutes(localCacheTtlMinutes), localCacheMaxWeightMb, "naver.cache.local");
+        reverseCache = buildCache(Duration.ofHours(reverseCacheTtlHours), reverseCacheMaxWeightMb, "naver.cache.reverse");
+    }
     // ───────────────────────────────────────────────────────────────
 
     /**
@@ -101,36 +143,31 @@ public class NaverApiClient {
                 .build()
                 .toUri();
 
-        String cacheKey = uri.toString();
+        // 2) 캐시 (없으면 호출, 같은 URI 동시 미스는 한 번만 호출)
+        return getOrLoad(localCache, uri.toString(), () -> fetchLocal(uri), "LOCAL");
+    }
 
-        // 2) 캐시 확인 (2분 내면 재사용)
-        Map<String, Object> cached = loadFromCache(cacheKey);
-        if (cached != null) {
-            log.debug("[NAVER][CACHE-HIT][LOCAL] {}", cacheKey);
-            return cached;
-        }
+    // Local Search 실제 호출 (레이트 리밋 + 재시도)
+    private Map<String, Object> fetchLocal(URI uri) {
+        String cacheKey = uri.toString();
 
         // 3) 헤더 (네이버 개발자 센터 방식)
         HttpHeaders headers = new HttpHeaders();
         headers.set("X-Naver-Client-Id", clientId);
         headers.set("X-Naver-Client-Secret", clientSecret);
 
-        // 4) 레이트 리밋: 외부로 너무 자주 나가지 않도록 최소 간격 보장
-        enforceMinInterval();
-
-        // 5) 429(Too Many Requests) 대비: 최대 3회 재시도 (백오프 + Retry-After 존중)
+        // 4) 429(Too Many Requests) 대비: 최대 3회 재시도 (백오프 + Retry-After 존중)
+        //    - 시도마다 토큰을 받고 나간다 (레이트 리밋)
         int maxAttempts = 3;                // 최초 + 재시도 2회
         long baseBackoffMs = 500;           // 0.5s → 1.0s → (최대) 2.0s
         HttpEntity<Void> httpEntity = new HttpEntity<>(headers);
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            localLimiter.acquire();
             try {
                 ResponseEntity<Map> res = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Map.class);
-                Map<String, Object> body = res.getBody();
-
-                // 6) 성공: 캐시에 저장 후 반환
-                saveToCache(cacheKey, body);
-                return body;
+                // 6) 성공: 반환 (캐시는 getOrLoad 가 저장)
+                return Objects.requireNonNullElse(res.getBody(), Map.of());
 
             } catch (HttpClientErrorException.TooManyRequests e) {
                 // 429면 '잠깐 쉬었다 와'라는 뜻
@@ -141,7 +178,8 @@ public class NaverApiClient {
                 log.warn("[NAVER][429][LOCAL] attempt {} / {} → {}ms 대기 후 재시도. uri={}",
                         attempt, maxAttempts, waitMs, cacheKey);
 
-                sleepSilently(waitMs);
+                // 같은 키를 쓰는 다른 호출도 함께 멈춘다 (다음 acquire 가 대기)
+                localLimiter.pause(waitMs);
 
                 if (attempt == maxAttempts) {
                     // 그래도 안 되면, UX 위해 '빈 결과'라도 내려주거나, 예외를 올려 컨트롤러에서 503으로 변환
@@ -170,10 +208,23 @@ public class NaverApiClient {
 
     // ───────────────────────────────────────────────────────────────
     // (NEW) Reverse Geocoding: 위도/경도 → 행정구역 이름
-    //      - PhotoboothService 에서 뷰포트 중심좌표로 "강남구 역삼동" 같은 문자열 얻을 때 사용
+    //      - PhotoboothCrawler 에서 격자 칸 중심좌표로 "강남구 역삼동" 같은 문자열 얻을 때 사용
     //      - 실패하면 Optional.empty() 반환 (서비스 단에서 fallback 처리)
     // ───────────────────────────────────────────────────────────────
     public Optional<String> reverseGeocodeToRegion(double lat, double lng) {
+        try {
+            return regionOf(lat, lng);
+        } catch (Exception e) {
+            log.warn("[NAVER][REVERSE][EX] lat={}, lng={} ex={}", lat, lng, e.toString());
+            return Optional.empty(); // 서비스 단에서 fallback(전국검색 등) 하도록
+        }
+    }
+
+    /**
+     * reverseGeocodeToRegion 과 같지만 호출 실패는 예외로 올린다.
+     * empty = 호출은 성공했는데 행정구역이 없는 좌표 (바다, 국경 밖 등)
+     */
+    public Optional<String> regionOf(double lat, double lng) {
         // Naver Reverse Geocode 는 coords를 "경도,위도" 순서로 받음에 주의 (lng, lat)
         URI uri = UriComponentsBuilder.fromHttpUrl(reverseEndpoint)
                 .queryParam("coords", lng + "," + lat)
@@ -183,15 +234,13 @@ public class NaverApiClient {
                 .build()
                 .toUri();
 
-        String cacheKey = uri.toString();
-
-        // 1) 캐시 확인 (2분 내면 재사용)
-        Map<String, Object> cached = loadFromCache(cacheKey);
-        if (cached != null) {
-            log.debug("[NAVER][CACHE-HIT][REVERSE] {}", cacheKey);
-            return extractRegionNameFromReverseBody(cached);
-        }
+        // 1) 캐시 (행정구역은 잘 바뀌지 않아 길게 보관)
+        Map<String, Object> body = getOrLoad(reverseCache, uri.toString(), () -> fetchReverse(uri), "REVERSE");
+        return extractRegionNameFromReverseBody(body);
+    }
 
+    // Reverse Geocode 실제 호출
+    private Map<String, Object> fetchReverse(URI uri) {
         // 2) 헤더 (NCP Map Geocode 방식)
         HttpHeaders headers = new HttpHeaders();
         headers.set("X-NCP-APIGW-API-KEY-ID", mapClientId);
@@ -199,21 +248,11 @@ public class NaverApiClient {
 
         HttpEntity<Void> httpEntity = new HttpEntity<>(headers);
 
-        // Reverse 도 외부 API 이므로 레이트 리밋 같이 사용
-        enforceMinInterval();
-
-        try {
-            ResponseEntity<Map> res = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Map.class);
-            Map<String, Object> body = res.getBody();
-
-            saveToCache(cacheKey, body);
-            return extractRegionNameFromReverseBody(body);
+        // Reverse 는 NCP 키 한도를 따르므로 별도 버킷
+        reverseLimiter.acquire();
 
-        } catch (Exception e) {
-            log.warn("[NAVER][REVERSE][EX] lat={}, lng={} uri={} ex={}",
-                    lat, lng, cacheKey, e.toString());
-            return Optional.empty(); // 서비스 단에서 fallback(전국검색 등) 하도록
-        }
+        ResponseEntity<Map> res = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Map.class);
+        return Objects.requireNonNullElse(res.getBody(), Map.of());
     }
 
     /**
@@ -282,28 +321,69 @@ public class NaverApiClient {
         return Math.max(min, Math.min(max, v));
     }
 
-    private Map<String, Object> loadFromCache(String key) {
-        CacheEntry entry = cache.get(key);
-        if (entry == null) return null;
-        long age = System.currentTimeMillis() - entry.savedAtMs();
-        if (age <= CACHE_TTL_MILLIS) return entry.body();
-        cache.remove(key); // 만료되면 정리
-        return null;
+    private AsyncCache<String, Map<String, Object>> buildCache(Duration ttl, long maxWeightMb, String metricName) {
+        AsyncCache<String, Map<String, Object>> c = Caffeine.newBuilder()
+                .maximumWeight(maxWeightMb * 1024 * 1024)
+                .weigher((String k, Map<String, Object> v) -> (int) Math.min(Integer.MAX_VALUE, k.length() * 2L + estimateBytes(v)))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, c.synchronous(), metricName);
+        return c;
     }
 
-    private void saveToCache(String key, Map<String, Object> body) {
-        cache.put(key, new CacheEntry(Objects.requireNonNullElse(body, Map.of()), System.currentTimeMillis()));
+    /**
+     * 캐시에 있으면 그대로, 같은 키 호출이 진행 중이면 합류, 없으면 현재 스레드에서 loader 실행.
+     * (호출 중 스레드는 캐시 내부 락을 잡지 않는다 / 실패한 future 는 Caffeine 이 자동으로 제거)
+     */
+    private Map<String, Object> getOrLoad(AsyncCache<String, Map<String, Object>> cache, String key,
+                                          Supplier<Map<String, Object>> loader, String tag) {
+        CompletableFuture<Map<String, Object>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = cache.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("[NAVER][CACHE-HIT][{}] {}", tag, key);
+            return join(existing);
+        }
+        try {
+            mine.complete(loader.get());
+        } catch (Throwable e) {
+            // Error 까지 받아 완료시킨다 (미완료 future 가 캐시에 남으면 같은 키 호출이 전부 멈춤)
+            mine.completeExceptionally(e);
+        }
+        return join(mine);
     }
 
-    // 외부 호출 최소 간격 보장 (아주 단순한 방식)
-    private void enforceMinInterval() {
-        long now = System.currentTimeMillis();
-        long last = lastCallAt.get();
-        long elapsed = now - last;
-        if (elapsed < MIN_INTERVAL_MS) {
-            sleepSilently(MIN_INTERVAL_MS - elapsed);
+    private static Map<String, Object> join(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("네이버 응답 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // 응답 JSON 의 대략적인 힙 크기 (문자열은 글자당 2바이트 + 객체 헤더)
+    private static long estimateBytes(Object o) {
+        if (o instanceof String str) return 40L + str.length() * 2L;
+        if (o instanceof Map<?, ?> m) {
+            long sum = 64;
+            for (Map.Entry<?, ?> e : m.entrySet()) sum += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+            return sum;
+        }
+        if (o instanceof Iterable<?> it) {
+            long sum = 40;
+            for (Object x : it) sum += 8 + estimateBytes(x);
+            return sum;
         }
-        lastCallAt.set(System.currentTimeMillis());
+        return 16;
     }
 
     private static Optional<Long> parseRetryAfterToMillis(HttpHeaders headers) {
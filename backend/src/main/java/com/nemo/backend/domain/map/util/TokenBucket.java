@@ -0,0 +1,79 @@
+package com.nemo.backend.domain.map.util;
+
+/**
+ * 외부 API 호출용 토큰 버킷 (예약 방식).
+ * - 초당 permitsPerSecond 개씩 채워지고 최대 burst 개까지 모인다
+ * - acquire() 는 토큰을 먼저 예약(음수 허용)하고 자기 차례까지 잠든다 → 동시에 몰려도 순서대로 간격이 벌어진다
+ * - pause() 는 429 등으로 잠시 멈춰야 할 때 모든 호출자를 그 시각까지 세운다.
+ *   그 시각부터 다시 채워지므로 멈춘 동안 몰린 호출도 한꺼번에 나가지 않고 pause + 부족분/속도 간격으로 나간다
+ * 가상 스레드에서 잠들어도 캐리어 스레드를 잡지 않는다.
+ */
+public final class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final double burst;
+
+    private double tokens;
+    private long refilledAtNanos;
+    private long pausedUntilNanos;
+    private long pauseEpoch;
+
+    public TokenBucket(double permitsPerSecond, double burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1.0, burst);
+        this.tokens = this.burst;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /** 토큰 1개를 받을 때까지 대기 (인터럽트되면 플래그만 복구하고 바로 반환) */
+    public void acquire() {
+        long epoch;
+        long waitNanos;
+        synchronized (this) {
+            epoch = pauseEpoch;
+            waitNanos = reserve(System.nanoTime());
+        }
+        while (waitNanos > 0) {
+            if (!sleepNanos(waitNanos)) return;
+            synchronized (this) {
+                if (epoch == pauseEpoch) return;
+                // 자는 동안 pause 가 걸렸으면 예약은 버려졌으므로 pause 뒤로 다시 줄을 선다
+                epoch = pauseEpoch;
+                waitNanos = reserve(System.nanoTime());
+            }
+        }
+    }
+
+    /** 지금부터 millis 동안 모든 호출을 멈추고, 모인 토큰과 대기 중인 예약은 버린다 (채우기는 pause 가 끝나는 시각부터) */
+    public synchronized void pause(long millis) {
+        pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + millis * 1_000_000L);
+        refilledAtNanos = pausedUntilNanos;
+        tokens = 0.0;
+        pauseEpoch++;
+    }
+
+    /** 토큰 1개를 예약하고 자기 차례까지 남은 시간을 돌려준다 (pause 중이면 refilledAtNanos 가 pause 끝 시각) */
+    private long reserve(long now) {
+        refill(now);
+        tokens -= 1.0;
+        long deficitNanos = tokens < 0 ? (long) (-tokens / permitsPerSecond * 1e9) : 0L;
+        return refilledAtNanos + deficitNanos - now;
+    }
+
+    private void refill(long now) {
+        if (now <= refilledAtNanos) return; // pause 중에는 채우지 않음
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) / 1e9 * permitsPerSecond);
+        refilledAtNanos = now;
+    }
+
+    private static boolean sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
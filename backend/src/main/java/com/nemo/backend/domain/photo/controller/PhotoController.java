@@ -7,7 +7,14 @@ import com.nemo.backend.domain.auth.util.AuthExtractor;
 import com.nemo.backend.domain.photo.dto.PhotoListItemDto;
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
 import com.nemo.backend.domain.photo.dto.PhotoUploadRequest;
+import com.nemo.backend.domain.photo.service.DirectUploadService;
+import com.nemo.backend.domain.photo.service.PhotoCursor;
+import com.nemo.backend.domain.photo.service.PhotoCursorPage;
 import com.nemo.backend.domain.photo.service.PhotoService;
+import com.nemo.backend.domain.photo.service.QrBatchImportService;
+import com.nemo.backend.domain.photo.service.QrBatchItemResult;
+import com.nemo.backend.domain.photo.service.QrImportJob;
+import com.nemo.backend.domain.photo.service.QrImportJobService;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.domain.user.repository.UserRepository;
 import com.nemo.backend.global.exception.ApiException;
@@ -40,6 +47,9 @@ import java.util.*;
 public class PhotoController {
 
     private final PhotoService photoService;
+    private final QrImportJobService qrImportJobService;
+    private final QrBatchImportService qrBatchImportService;
+    private final DirectUploadService directUploadService;
     private final AuthExtractor authExtractor;
     private final UserRepository userRepository;
 
@@ -102,6 +112,104 @@ public class PhotoController {
                 .body(resp);
     }
 
+    // ========================================================
+    // 0-1) QR 임시 등록 - 비동기 작업 모드  (POST /api/photos/qr-import/jobs)
+    //    - 벤더 크롤링/저장은 전용 실행기에서 수행, 요청 스레드는 즉시 202 반환
+    //    - 결과는 GET /api/photos/qr-import/jobs/{jobId} 로 폴링
+    // ========================================================
+    @Operation(
+            summary = "QR 임시 등록 (비동기)",
+            description = "QR 가져오기 작업을 등록하고 jobId를 즉시 반환합니다. 상태 조회 API로 결과를 확인합니다."
+    )
+    @PostMapping(
+            value = "/qr-import/jobs",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<QrImportJobResponse> submitQrImportJob(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody QrImportRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+
+        if (body == null || body.qrCode() == null || body.qrCode().isBlank()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "qrCode는 필수입니다.");
+        }
+
+        QrImportJob job = qrImportJobService.submit(userId, body.qrCode());
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/photos/qr-import/jobs/" + job.getJobId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toJobResponse(job));
+    }
+
+    @Operation(summary = "QR 임시 등록 작업 상태 조회")
+    @GetMapping(value = "/qr-import/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<QrImportJobResponse> getQrImportJob(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @PathVariable String jobId
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        QrImportJob job = qrImportJobService.get(userId, jobId);
+        return ResponseEntity.ok(toJobResponse(job));
+    }
+
+    // ========================================================
+    // 0-2) QR 일괄 임시 등록  (POST /api/photos/qr-import/batch)
+    //    - 같은 촬영에서 받은 여러 QR 을 한 번에 처리 (항목별 성공/실패)
+    // ========================================================
+    @Operation(
+            summary = "QR 일괄 임시 등록",
+            description = "여러 QR 문자열을 동시에 가져와 저장하고 항목별 결과를 반환합니다. 일부 실패해도 나머지는 저장됩니다."
+    )
+    @PostMapping(
+            value = "/qr-import/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<QrBatchImportResponse> qrImportBatch(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody QrBatchImportRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+
+        if (body == null || body.qrCodes() == null || body.qrCodes().isEmpty()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "qrCodes는 필수입니다.");
+        }
+
+        List<QrBatchItemResult> results = qrBatchImportService.importAll(userId, body.qrCodes());
+
+        List<QrBatchImportItem> items = new ArrayList<>(results.size());
+        int stored = 0;
+        for (QrBatchItemResult r : results) {
+            if (r.isStored()) {
+                stored++;
+                PhotoResponseDto dto = r.photo();
+                items.add(new QrBatchImportItem(
+                        r.index(),
+                        "DRAFT",
+                        dto.getId(),
+                        dto.getImageUrl(),
+                        (dto.getTakenAt() != null) ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null,
+                        dto.getBrand(),
+                        null,
+                        null
+                ));
+            } else {
+                items.add(new QrBatchImportItem(r.index(), "FAILED", null, null, null, null, r.errorCode(), r.message()));
+            }
+        }
+
+        // 하나라도 저장되면 201, 전부 실패면 200 + 항목별 사유
+        HttpStatus status = (stored > 0) ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity
+                .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new QrBatchImportResponse(results.size(), stored, results.size() - stored, items));
+    }
+
     // ========================================================
     // 1) QR 기반 사진 업로드  (POST /api/photos)
     //    - 명세 기준: qrCode + image 둘 다 필수
@@ -270,6 +378,97 @@ public class PhotoController {
                 .body(resp);
     }
 
+    // ========================================================
+    // 2-1) S3 직접 업로드 세션 발급  (POST /api/photos/upload-sessions)
+    //      - 클라이언트는 uploadUrl 로 headers 를 그대로 붙여 PUT (앱 서버를 거치지 않음)
+    //      - 끝나면 /upload-sessions/complete 로 uploadKey 를 보내 사진 등록
+    // ========================================================
+    @Operation(
+            summary = "직접 업로드 세션 발급",
+            description = "S3 presigned PUT URL 을 발급합니다. 선언한 크기/형식과 다른 업로드는 거부됩니다."
+    )
+    @PostMapping(
+            value = "/upload-sessions",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody UploadSessionRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        if (body == null) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "contentType, size 는 필수입니다.");
+        }
+
+        DirectUploadService.UploadSession session =
+                directUploadService.createSession(userId, body.contentType(), body.size());
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new UploadSessionResponse(
+                        session.uploadKey(),
+                        session.uploadUrl(),
+                        session.method(),
+                        session.headers(),
+                        session.expiresAt().toString()
+                ));
+    }
+
+    // ========================================================
+    // 2-2) S3 직접 업로드 완료  (POST /api/photos/upload-sessions/complete)
+    //      - 크기/매직넘버 검증 후 사진 등록 (응답은 갤러리 업로드와 동일)
+    // ========================================================
+    @Operation(
+            summary = "직접 업로드 완료",
+            description = "S3 에 올라간 파일을 검증하고 사진으로 등록합니다."
+    )
+    @PostMapping(
+            value = "/upload-sessions/complete",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PhotoUploadResponse> completeUploadSession(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody UploadCompleteRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        if (body == null || body.uploadKey() == null || body.uploadKey().isBlank()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "uploadKey 는 필수입니다.");
+        }
+
+        PhotoResponseDto dto = photoService.registerDirectUpload(
+                userId,
+                body.uploadKey(),
+                body.brand(),
+                body.location(),
+                body.takenAt(),
+                body.memo()
+        );
+
+        List<FriendDto> friendList = new ArrayList<>();
+        if (body.friendIdList() != null) {
+            body.friendIdList().forEach(id -> friendList.add(new FriendDto(id, "")));
+        }
+
+        PhotoUploadResponse resp = new PhotoUploadResponse(
+                dto.getId(),
+                dto.getImageUrl(),
+                dto.getTakenAt() != null ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null,
+                dto.getLocation(),
+                dto.getBrand(),
+                body.tagList() != null ? body.tagList() : Collections.emptyList(),
+                friendList,
+                dto.getMemo() != null ? dto.getMemo() : ""
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(resp);
+    }
+
     // ========================================================
     // 3) 사진 목록 조회  (GET /api/photos)
     // ========================================================
@@ -280,36 +479,44 @@ public class PhotoController {
             @RequestParam(value = "tag", required = false) String tag,
             @RequestParam(value = "sort", required = false, defaultValue = "takenAt,desc") String sortBy,
             @RequestParam(value = "page", required = false, defaultValue = "0") Integer page,
-            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         Long userId = authExtractor.extractUserId(authorizationHeader);
 
-        Sort sort = Sort.by(Sort.Direction.DESC, "takenAt");
+        // 커서 모드 (?cursor= 로 첫 페이지, 이후 nextCursor 그대로): OFFSET/COUNT 없이 깊이와 무관한 비용
+        if (cursor != null) {
+            return ResponseEntity.ok(listByCursor(userId, favorite, sortBy, size, cursor));
+        }
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "takenAt").and(Sort.by(Sort.Direction.DESC, "id"));
         if (sortBy != null && !sortBy.isBlank()) {
             String[] parts = sortBy.split(",");
             String field = parts[0].trim();
             Sort.Direction dir = (parts.length > 1 && "asc".equalsIgnoreCase(parts[1].trim()))
                     ? Sort.Direction.ASC : Sort.Direction.DESC;
 
+            // 같은 값끼리는 id 로 순서 고정 (페이지 경계에서 중복/누락 방지, 인덱스 끝의 PK 와 같은 순서)
             switch (field) {
-                case "takenAt" -> sort = Sort.by(dir, "takenAt");
-                case "createdAt" -> sort = Sort.by(dir, "createdAt");
+                case "takenAt" -> sort = Sort.by(dir, "takenAt").and(Sort.by(dir, "id"));
+                case "createdAt" -> sort = Sort.by(dir, "createdAt").and(Sort.by(dir, "id"));
                 case "photoId", "id" -> sort = Sort.by(dir, "id");
-                default -> sort = Sort.by(Sort.Direction.DESC, "takenAt");
+                default -> sort = Sort.by(Sort.Direction.DESC, "takenAt").and(Sort.by(Sort.Direction.DESC, "id"));
             }
         }
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        var pageDto = photoService.list(userId, pageable, favorite);
+        var pageDto = photoService.listRows(userId, pageable, favorite);
         DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
         List<PhotoListItemDto> items = pageDto.map(p -> PhotoListItemDto.builder()
                 .photoId(p.getId())
                 .imageUrl(p.getImageUrl())
+                .thumbnailUrl(p.getThumbnailUrl() != null ? p.getThumbnailUrl() : p.getImageUrl())
                 .takenAt(p.getTakenAt() != null ? p.getTakenAt().format(ISO) : null)
                 .location(p.getLocation())
                 .brand(p.getBrand())
-                .isFavorite(p.isFavorite())
+                .isFavorite(Boolean.TRUE.equals(p.getFavorite()))
                 .build()
         ).getContent();
 
@@ -323,6 +530,44 @@ public class PhotoController {
         return ResponseEntity.ok(new PagedResponse<>(items, meta));
     }
 
+    private PagedResponse<PhotoListItemDto> listByCursor(Long userId, Boolean favorite, String sortBy,
+                                                         Integer size, String cursor) {
+        if (size == null || size < 1 || size > 100) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "size 는 1~100 사이여야 합니다.");
+        }
+        PhotoCursor position;
+        if (cursor.isBlank()) {
+            // 첫 페이지: 커서 모드는 takenAt 정렬만 지원 (커서에 takenAt, id 를 담음)
+            String[] parts = (sortBy == null || sortBy.isBlank()) ? new String[]{"takenAt"} : sortBy.split(",");
+            if (!"takenAt".equals(parts[0].trim())) {
+                throw new ApiException(ErrorCode.INVALID_ARGUMENT, "cursor 모드는 sort=takenAt 만 지원합니다.");
+            }
+            boolean ascending = parts.length > 1 && "asc".equalsIgnoreCase(parts[1].trim());
+            position = PhotoCursor.first(ascending);
+        } else {
+            // 이후 페이지: 정렬 방향은 커서에 담긴 값을 따른다
+            position = PhotoCursor.decode(cursor);
+        }
+
+        PhotoCursorPage result = photoService.listRowsByCursor(userId, position, size, favorite);
+        DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        List<PhotoListItemDto> items = result.rows().stream().map(p -> PhotoListItemDto.builder()
+                .photoId(p.getId())
+                .imageUrl(p.getImageUrl())
+                .thumbnailUrl(p.getThumbnailUrl() != null ? p.getThumbnailUrl() : p.getImageUrl())
+                .takenAt(p.getTakenAt() != null ? p.getTakenAt().format(ISO) : null)
+                .location(p.getLocation())
+                .brand(p.getBrand())
+                .isFavorite(Boolean.TRUE.equals(p.getFavorite()))
+                .build()
+        ).toList();
+
+        // COUNT 를 하지 않으므로 전체 개수/페이지 수는 알 수 없음(-1)
+        PageMetaDto meta = new PageMetaDto(size, -1, -1, -1);
+        return new PagedResponse<>(items, meta, result.nextCursor());
+    }
+
     // ========================================================
     // 4) 사진 상세 조회  (GET /api/photos/{photoId})
     // ========================================================
@@ -467,6 +712,63 @@ public class PhotoController {
             String status
     ) {}
 
+    public static record QrBatchImportRequest(
+            List<String> qrCodes
+    ) {}
+
+    public static record QrBatchImportItem(
+            int index,
+            String status,
+            Long photoId,
+            String imageUrl,
+            String takenAt,
+            String brand,
+            String errorCode,
+            String message
+    ) {}
+
+    public static record QrBatchImportResponse(
+            int total,
+            int stored,
+            int failed,
+            List<QrBatchImportItem> items
+    ) {}
+
+    public static record QrImportJobResponse(
+            String jobId,
+            String status,
+            Long photoId,
+            String imageUrl,
+            String takenAt,
+            String location,
+            String brand,
+            String errorCode,
+            String message
+    ) {}
+
+    public static record UploadSessionRequest(
+            String contentType,
+            Long size
+    ) {}
+
+    public static record UploadSessionResponse(
+            String uploadKey,
+            String uploadUrl,
+            String method,
+            Map<String, String> headers,
+            String expiresAt
+    ) {}
+
+    public static record UploadCompleteRequest(
+            String uploadKey,
+            LocalDateTime takenAt,
+            String location,
+            String brand,
+            List<String> tagList,
+            List<Long> friendIdList,
+            String memo
+    ) {}
+
     public static record PhotoUploadResponse(
             long photoId,
             String imageUrl,
@@ -517,6 +819,25 @@ public class PhotoController {
             String memo
     ) {}
 
+    private QrImportJobResponse toJobResponse(QrImportJob job) {
+        PhotoResponseDto dto = job.getPhoto();
+        if (dto == null) {
+            return new QrImportJobResponse(
+                    job.getJobId(), job.getStatus().name(),
+                    null, null, null, null, null,
+                    job.getErrorCode(), job.getMessage()
+            );
+        }
+        String isoTakenAt = (dto.getTakenAt() != null)
+                ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                : null;
+        return new QrImportJobResponse(
+                job.getJobId(), job.getStatus().name(),
+                dto.getId(), dto.getImageUrl(), isoTakenAt, dto.getLocation(), dto.getBrand(),
+                null, null
+        );
+    }
+
     private List<String> parseStringArray(String jsonArray) {
         if (jsonArray == null || jsonArray.isBlank()) return Collections.emptyList();
         try {
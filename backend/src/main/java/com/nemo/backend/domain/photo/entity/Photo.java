@@ -9,10 +9,19 @@ import java.time.LocalDateTime;
 /**
  * 사진 1장(레코드) + 연계 정보 엔티티.
  * QR 해시(qrHash)로 중복 업로드를 방지한다.
+ * 인덱스는 목록 조회 정렬 기준별로 (사용자, 삭제여부[, 즐겨찾기], 정렬 컬럼) 순서 → 범위 스캔으로 정렬 없이 읽는다.
  */
 @Entity
 @Table(name = "photos", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"qrHash"})
+}, indexes = {
+        @Index(name = "idx_photos_user_deleted_taken", columnList = "userId, deleted, takenAt"),
+        @Index(name = "idx_photos_user_deleted_created", columnList = "userId, deleted, createdAt"),
+        @Index(name = "idx_photos_user_deleted_fav_taken", columnList = "userId, deleted, favorite, takenAt"),
+        @Index(name = "idx_photos_album_deleted_created", columnList = "album_id, deleted, createdAt"),
+        @Index(name = "idx_photos_deleted_deleted_at", columnList = "deleted, deletedAt"), // 영구 삭제 대상 조회
+        @Index(name = "idx_photos_image_url", columnList = "imageUrl"),          // 고아 정리/교체 파일 해제 시 참조 확인
+        @Index(name = "idx_photos_thumbnail_url", columnList = "thumbnailUrl")
 })
 public class Photo {
 
@@ -29,9 +38,13 @@ public class Photo {
     @Column(nullable = false)
     private String imageUrl;
 
-    /** 썸네일용 (API 응답에는 노출 안 함) */
+    /** 썸네일용: 축소본 생성 전에는 imageUrl 과 같고, 생성 후에는 가장 작은 축소본 URL */
     private String thumbnailUrl;
 
+    /** 서버에서 만든 축소본 키 목록 ("너비=키" 를 ',' 로 연결, 예: 320=albums/..._w320.jpg) */
+    @Column(length = 1000)
+    private String renditionKeys;
+
     private LocalDateTime takenAt;
 
     /** 명세서의 location 필드 (장소 문자열) */
@@ -43,6 +56,10 @@ public class Photo {
     @Column(unique = true)
     private String qrHash;
 
+    /** S3 직접 업로드로 등록한 사진의 업로드 키 (같은 업로드의 중복 완료 차단, 다른 경로는 null) */
+    @Column(unique = true, length = 512)
+    private String uploadKey;
+
     /** 즐겨찾기 여부 (기본 false) */
     @Column(name = "favorite")
     private Boolean favorite = false;
@@ -54,6 +71,9 @@ public class Photo {
     private LocalDateTime createdAt = LocalDateTime.now();
     private Boolean deleted = false;
 
+    /** 삭제 표시 시각 (보존 기간이 지나면 PhotoPurgeService 가 영구 삭제) */
+    private LocalDateTime deletedAt;
+
     public Photo() {
     }
 
@@ -95,6 +115,9 @@ public class Photo {
     public String getThumbnailUrl() { return thumbnailUrl; }
     public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
 
+    public String getRenditionKeys() { return renditionKeys; }
+    public void setRenditionKeys(String renditionKeys) { this.renditionKeys = renditionKeys; }
+
     public LocalDateTime getTakenAt() { return takenAt; }
     public void setTakenAt(LocalDateTime takenAt) { this.takenAt = takenAt; }
 
@@ -107,6 +130,9 @@ public class Photo {
     public String getQrHash() { return qrHash; }
     public void setQrHash(String qrHash) { this.qrHash = qrHash; }
 
+    public String getUploadKey() { return uploadKey; }
+    public void setUploadKey(String uploadKey) { this.uploadKey = uploadKey; }
+
     public Boolean getFavorite() { return favorite; }
     public void setFavorite(Boolean favorite) { this.favorite = favorite; }
 
@@ -118,4 +144,7 @@ public class Photo {
 
     public Boolean getDeleted() { return deleted; }
     public void setDeleted(Boolean deleted) { this.deleted = deleted; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
 }
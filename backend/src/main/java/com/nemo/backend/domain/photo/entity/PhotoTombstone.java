@@ -0,0 +1,39 @@
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영구 삭제된 QR 사진의 흔적 (qrHash 만 남김).
+ * 삭제 표시된 사진 행이 있을 때와 똑같이 같은 QR 재등록을 계속 막기 위해 유지한다.
+ * photos 테이블/인덱스에서는 빠지므로 조회 경로는 가벼워진다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "photo_tombstones")
+public class PhotoTombstone {
+
+    @Id
+    @Column(length = 64)
+    private String qrHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime purgedAt;
+
+    public PhotoTombstone(String qrHash, Long userId, LocalDateTime purgedAt) {
+        this.qrHash = qrHash;
+        this.userId = userId;
+        this.purgedAt = purgedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * QR 업로드 선점 행 (다중 인스턴스 환경에서 같은 QR 동시 업로드 차단용).
+ * qrHash 를 PK 로 먼저 INSERT 한 인스턴스만 크롤링/저장을 진행하고, 끝나면 삭제한다.
+ * 인스턴스가 죽어 남은 행은 createdAt 기준 리스 시간이 지나면 다른 요청이 가져간다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "qr_import_reservations")
+public class QrImportReservation {
+
+    @Id
+    @Column(length = 64)
+    private String qrHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 고아 객체 정리(OrphanObjectSweeper) 재개 위치.
+ * 재시작/다른 인스턴스에서도 마지막으로 본 키 다음부터 이어간다.
+ * 접두어는 순번이 아니라 값으로 남긴다 (설정의 접두어 목록이 바뀌어도 엉뚱한 곳에서 시작하지 않게).
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "storage_sweep_cursors")
+public class StorageSweepCursor {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /** 진행 중인 접두어 (null 이면 처음부터) */
+    @Column(length = 255)
+    private String prefix;
+
+    /** 그 접두어에서 마지막으로 본 키 (null 이면 접두어 처음부터) */
+    @Column(length = 1024)
+    private String startAfter;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public StorageSweepCursor(String name, LocalDateTime now) {
+        this.name = name;
+        this.updatedAt = now;
+    }
+
+    public void moveTo(String prefix, String startAfter, LocalDateTime now) {
+        this.prefix = prefix;
+        this.startAfter = startAfter;
+        this.updatedAt = now;
+    }
+}
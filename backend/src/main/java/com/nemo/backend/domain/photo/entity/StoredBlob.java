@@ -0,0 +1,39 @@
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소(content-addressed) 객체의 참조 카운트.
+ * 같은 바이트는 하나의 S3 객체(blobs/..)를 공유하므로, 마지막 참조가 풀릴 때만 실제로 지운다.
+ * refCount = -1 은 삭제 진행 중 표시 (그동안 새 참조는 붙지 않고, 삭제가 끝난 뒤 다시 올린다).
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 255)
+    private String objectKey;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
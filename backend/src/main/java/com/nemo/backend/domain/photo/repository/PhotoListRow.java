@@ -0,0 +1,17 @@
+package com.nemo.backend.domain.photo.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사진 목록 전용 projection (PhotoListItemDto 에 필요한 컬럼만 SELECT).
+ * memo / renditionKeys / album 등은 읽지 않는다.
+ */
+public interface PhotoListRow {
+    Long getId();
+    String getImageUrl();
+    String getThumbnailUrl();
+    LocalDateTime getTakenAt();
+    String getLocation();
+    String getBrand();
+    Boolean getFavorite();
+}
@@ -5,7 +5,13 @@ import com.nemo.backend.domain.photo.entity.Photo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,10 +19,68 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
 
     Optional<Photo> findByQrHash(String qrHash);
 
-    Page<Photo> findByUserIdAndDeletedIsFalseOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    // ✅ QR 일괄 가져오기: 이미 업로드된 QR 한 번에 조회
+    List<Photo> findByQrHashIn(Collection<String> qrHashes);
+
+    // ✅ 목록: 정렬은 Pageable 의 Sort 로만 (메서드 이름에 정렬을 넣으면 그 정렬이 먼저 붙어 인덱스를 못 탄다)
+    //    type 에 PhotoListRow 를 주면 목록에 필요한 컬럼만 SELECT
+    <T> Page<T> findByUserIdAndDeletedIsFalse(Long userId, Pageable pageable, Class<T> type);
 
     // ✅ 즐겨찾기만 필터
-    Page<Photo> findByUserIdAndDeletedIsFalseAndFavoriteTrueOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    <T> Page<T> findByUserIdAndDeletedIsFalseAndFavoriteTrue(Long userId, Pageable pageable, Class<T> type);
+
+    // ✅ 커서(keyset) 목록: (takenAt, id) 가 커서보다 뒤인 행만 → OFFSET/COUNT 없이 인덱스 범위 스캔
+    //    limit 은 Pageable 크기로만 (List 반환이라 COUNT 쿼리가 나가지 않음)
+    //    즐겨찾기는 별도 쿼리 (":favoriteOnly = false OR ..." 같은 선택 조건은 인덱스 선택을 흐린다)
+    //    takenAt 이 NULL 인 행은 비교로 잡히지 않으므로 id 순 별도 구간(undated)으로 읽는다
+    //    (최신순: 날짜 있는 행 → NULL 구간, 오래된순: NULL 구간 → 날짜 있는 행. DB 의 NULL 정렬과 같은 위치)
+    String LIST_ROW_SELECT = "SELECT p.id AS id, p.imageUrl AS imageUrl, p.thumbnailUrl AS thumbnailUrl, p.takenAt AS takenAt, " +
+            "p.location AS location, p.brand AS brand, p.favorite AS favorite " +
+            "FROM Photo p WHERE p.userId = :userId AND p.deleted = false ";
+
+    @Query(LIST_ROW_SELECT +
+            "AND (p.takenAt < :takenAt OR (p.takenAt = :takenAt AND p.id < :id)) " +
+            "ORDER BY p.takenAt DESC, p.id DESC")
+    List<PhotoListRow> findRowsBefore(@Param("userId") Long userId,
+                                      @Param("takenAt") LocalDateTime takenAt,
+                                      @Param("id") Long id,
+                                      Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.favorite = true " +
+            "AND (p.takenAt < :takenAt OR (p.takenAt = :takenAt AND p.id < :id)) " +
+            "ORDER BY p.takenAt DESC, p.id DESC")
+    List<PhotoListRow> findFavoriteRowsBefore(@Param("userId") Long userId,
+                                              @Param("takenAt") LocalDateTime takenAt,
+                                              @Param("id") Long id,
+                                              Pageable limit);
+
+    @Query(LIST_ROW_SELECT +
+            "AND (p.takenAt > :takenAt OR (p.takenAt = :takenAt AND p.id > :id)) " +
+            "ORDER BY p.takenAt ASC, p.id ASC")
+    List<PhotoListRow> findRowsAfter(@Param("userId") Long userId,
+                                     @Param("takenAt") LocalDateTime takenAt,
+                                     @Param("id") Long id,
+                                     Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.favorite = true " +
+            "AND (p.takenAt > :takenAt OR (p.takenAt = :takenAt AND p.id > :id)) " +
+            "ORDER BY p.takenAt ASC, p.id ASC")
+    List<PhotoListRow> findFavoriteRowsAfter(@Param("userId") Long userId,
+                                             @Param("takenAt") LocalDateTime takenAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.takenAt IS NULL AND p.id < :id ORDER BY p.id DESC")
+    List<PhotoListRow> findUndatedRowsBefore(@Param("userId") Long userId, @Param("id") Long id, Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.favorite = true AND p.takenAt IS NULL AND p.id < :id ORDER BY p.id DESC")
+    List<PhotoListRow> findFavoriteUndatedRowsBefore(@Param("userId") Long userId, @Param("id") Long id, Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.takenAt IS NULL AND p.id > :id ORDER BY p.id ASC")
+    List<PhotoListRow> findUndatedRowsAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable limit);
+
+    @Query(LIST_ROW_SELECT + "AND p.favorite = true AND p.takenAt IS NULL AND p.id > :id ORDER BY p.id ASC")
+    List<PhotoListRow> findFavoriteUndatedRowsAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable limit);
 
     // ✅ 앨범 내 사진들 (삭제 안 된 것만) 최신순
     List<Photo> findByAlbum_IdAndDeletedIsFalseOrderByCreatedAtDesc(Long albumId);
@@ -24,6 +88,53 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
     // ✅ 특정 사진이 살아있는지 검사할 때 사용
     Optional<Photo> findByIdAndDeletedIsFalse(Long id);
 
+    // ✅ 직접 업로드 완료 중복 호출 차단 (upload_key unique 인덱스)
+    boolean existsByUploadKey(String uploadKey);
+
+    // ✅ 교체된 프로필/앨범 썸네일이 사진 원본을 가리키는지 확인
+    boolean existsByImageUrl(String imageUrl);
+
+    // ✅ 교체된 프로필/앨범 썸네일이 사진 축소본을 가리키는지 확인
+    boolean existsByThumbnailUrl(String thumbnailUrl);
+
+    // ✅ 영구 삭제 대상: 보존 기간이 지난 삭제 표시 사진, id 순 일부만
+    @Query("SELECT p FROM Photo p WHERE p.deleted = true AND p.deletedAt < :cutoff ORDER BY p.id")
+    List<Photo> findPurgeCandidates(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // ✅ deletedAt 도입 전에 삭제 표시된 행: 처음 본 시각부터 보존 기간을 센다
+    @Transactional
+    @Modifying
+    @Query("UPDATE Photo p SET p.deletedAt = :now WHERE p.deleted = true AND p.deletedAt IS NULL")
+    int stampMissingDeletedAt(@Param("now") LocalDateTime now);
+
+    // ✅ 고아 객체 정리: 주어진 URL 중 사진이 참조하는 것 (원본/썸네일, 삭제 표시된 사진 포함)
+    @Query("SELECT p.imageUrl FROM Photo p WHERE p.imageUrl IN :urls")
+    List<String> findImageUrlsIn(@Param("urls") Collection<String> urls);
+
+    @Query("SELECT p.thumbnailUrl FROM Photo p WHERE p.thumbnailUrl IN :urls")
+    List<String> findThumbnailUrlsIn(@Param("urls") Collection<String> urls);
+
+    // ✅ 고아 정리 실행 전 점검: 최근 사진 원본 URL 몇 개 (키로 바꿔 버킷에 실제로 있는지 확인)
+    @Query("SELECT p.imageUrl FROM Photo p ORDER BY p.id DESC")
+    List<String> findRecentImageUrls(Pageable pageable);
+
+    // ✅ 고아 정리: 저장된 URL 의 '.../files/' 앞부분 종류 (배포 주소가 바뀐 예전 행도 키로 맞추기 위함)
+    @Query("SELECT DISTINCT SUBSTRING(p.imageUrl, 1, LOCATE('/files/', p.imageUrl) + 6) FROM Photo p " +
+            "WHERE LOCATE('/files/', p.imageUrl) > 0")
+    List<String> findImageUrlFilesPrefixes();
+
+    @Query("SELECT DISTINCT SUBSTRING(p.thumbnailUrl, 1, LOCATE('/files/', p.thumbnailUrl) + 6) FROM Photo p " +
+            "WHERE LOCATE('/files/', p.thumbnailUrl) > 0")
+    List<String> findThumbnailUrlFilesPrefixes();
+
     // ✅ 타임라인용: 촬영일시 기준 내림차순 전체 조회
     List<Photo> findByUserIdAndDeletedIsFalseOrderByTakenAtDesc(Long userId);
+
+    // ✅ 축소본 생성 결과만 갱신 (백그라운드 스레드에서 다른 필드를 덮어쓰지 않도록)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Photo p SET p.thumbnailUrl = :thumbnailUrl, p.renditionKeys = :renditionKeys WHERE p.id = :id")
+    int updateRenditions(@Param("id") Long id,
+                         @Param("thumbnailUrl") String thumbnailUrl,
+                         @Param("renditionKeys") String renditionKeys);
 }
@@ -0,0 +1,16 @@
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.PhotoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PhotoTombstoneRepository extends JpaRepository<PhotoTombstone, String> {
+
+    // QR 일괄 가져오기: 영구 삭제된 QR 한 번에 조회
+    @Query("SELECT t.qrHash FROM PhotoTombstone t WHERE t.qrHash IN :qrHashes")
+    List<String> findQrHashesIn(@Param("qrHashes") Collection<String> qrHashes);
+}
@@ -0,0 +1,25 @@
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.QrImportReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface QrImportReservationRepository extends JpaRepository<QrImportReservation, String> {
+
+    // save() 는 id 가 있으면 merge 로 동작하므로, 선점은 반드시 INSERT 로 시도한다 (중복 시 제약 위반)
+    @Modifying
+    @Query(value = "INSERT INTO qr_import_reservations (qr_hash, user_id, created_at) VALUES (:qrHash, :userId, :createdAt)",
+            nativeQuery = true)
+    int insert(@Param("qrHash") String qrHash,
+               @Param("userId") Long userId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    // 리스 시간이 지난 선점 행 정리 (선점한 인스턴스가 죽은 경우)
+    @Modifying
+    @Query("DELETE FROM QrImportReservation r WHERE r.qrHash = :qrHash AND r.createdAt < :threshold")
+    int deleteStale(@Param("qrHash") String qrHash, @Param("threshold") LocalDateTime threshold);
+}
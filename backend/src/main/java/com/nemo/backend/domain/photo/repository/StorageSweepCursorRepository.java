@@ -0,0 +1,7 @@
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.StorageSweepCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StorageSweepCursorRepository extends JpaRepository<StorageSweepCursor, String> {
+}
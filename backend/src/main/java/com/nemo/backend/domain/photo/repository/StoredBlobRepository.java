@@ -0,0 +1,45 @@
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // 고아 객체 정리: 참조 카운트로 관리 중인 키는 건너뛴다 (release 경로가 지운다)
+    @Query("SELECT b.objectKey FROM StoredBlob b WHERE b.objectKey IN :keys")
+    List<String> findObjectKeysIn(@Param("keys") Collection<String> keys);
+
+    // 최초 등록은 INSERT 로만 (이미 있으면 제약 위반 → 호출 측에서 참조 증가로 재시도)
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (object_key, sha256, size, ref_count, created_at) " +
+            "VALUES (:objectKey, :sha256, :size, 1, :createdAt)", nativeQuery = true)
+    int insert(@Param("objectKey") String objectKey,
+               @Param("sha256") String sha256,
+               @Param("size") long size,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    // 삭제 진행 중(-1)이 아닌 행에만 참조를 붙인다
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1 WHERE b.objectKey = :objectKey AND b.refCount >= 0")
+    int incrementIfLive(@Param("objectKey") String objectKey);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1 WHERE b.objectKey = :objectKey AND b.refCount > 0")
+    int decrement(@Param("objectKey") String objectKey);
+
+    // 참조가 0 인 행을 삭제 진행 중으로 선점 (동시에 참조가 붙으면 0 행)
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = -1 WHERE b.objectKey = :objectKey AND b.refCount = 0")
+    int claimForDelete(@Param("objectKey") String objectKey);
+
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.objectKey = :objectKey AND b.refCount = -1")
+    int deleteClaimed(@Param("objectKey") String objectKey);
+}
@@ -0,0 +1,44 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import java.util.Set;
+
+/**
+ * 전용 규칙이 없는 브랜드용 기본 구현.
+ * 브랜드명/호스트 라벨/키워드만 다르고 HTML 추출은 범용 단계(HtmlAssetExtractor)를 따른다.
+ */
+public abstract class BrandQrResolver implements QrResolver {
+
+    private final String brand;
+    private final Set<String> hostLabels;
+    private final Set<String> keywords;
+
+    protected BrandQrResolver(String brand, Set<String> hostLabels, Set<String> keywords) {
+        this.brand = brand;
+        this.hostLabels = hostLabels;
+        this.keywords = keywords;
+    }
+
+    @Override
+    public String brand() {
+        return brand;
+    }
+
+    @Override
+    public Set<String> hostLabels() {
+        return hostLabels;
+    }
+
+    @Override
+    public Set<String> keywords() {
+        return keywords;
+    }
+
+    @Override
+    public String extractFromHtml(String html, String baseUrl) {
+        String found = HtmlAssetExtractor.extract(html, baseUrl);
+        if (found == null) {
+            found = HtmlAssetExtractor.scanDirectImageUrl(html, false);
+        }
+        return HtmlAssetExtractor.isSamePage(found, baseUrl) ? null : found;
+    }
+}
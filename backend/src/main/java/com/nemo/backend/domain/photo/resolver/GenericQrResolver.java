@@ -0,0 +1,13 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import java.util.Set;
+
+/** 어느 브랜드에도 해당하지 않을 때 쓰는 폴백 (빈으로 등록하지 않고 레지스트리가 직접 보유) */
+public class GenericQrResolver extends BrandQrResolver {
+
+    public static final String BRAND = "기타";
+
+    public GenericQrResolver() {
+        super(BRAND, Set.of(), Set.of());
+    }
+}
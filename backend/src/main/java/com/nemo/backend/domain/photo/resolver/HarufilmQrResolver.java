@@ -0,0 +1,15 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@Order(2)
+public class HarufilmQrResolver extends BrandQrResolver {
+
+    public HarufilmQrResolver() {
+        super("하루필름", Set.of("harufilm"), Set.of("harufilm", "하루필름"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 브랜드를 모를 때 쓰는 범용 HTML 자산 추출기 (셀렉터 단계별 탐색).
+ * 정규식은 전부 한 번만 컴파일해 둔다.
+ */
+public final class HtmlAssetExtractor {
+
+    private HtmlAssetExtractor() {}
+
+    private static final Pattern JSON_LD_MEDIA = Pattern.compile(
+            "(https?:\\\\?/\\\\?/[^\"']+?\\.(?:jpg|jpeg|png|webp|mp4|webm|mov))",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    // S3 /QRimage/.../image.jpg 같은 직결 URL
+    private static final Pattern DIRECT_IMAGE = Pattern.compile(
+            "https?://[^\"'\\s>]+/(?:qrimage|qr_image|common)/[^\"'\\s>]+\\.(?:jpg|jpeg|png|webp)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * 1) 다운로드 링크 → 2) picture/source → 3) img[srcset] → 4) JSON-LD
+     * → 5) video → 6) og:image → 7) img[src] 순서로 탐색.
+     */
+    public static String extract(Document doc) {
+        String found = null;
+
+        // 1) 다운로드 링크 우선
+        Element aDownload = doc.selectFirst(
+                "a[download], a[href*='download'], a.btn-download, a#download, a.button, " +
+                        "a[href$='.jpg'], a[href$='.jpeg'], a[href$='.png'], a[href$='.webp'], " +
+                        "a[href$='.mp4'], a[href$='.webm'], a[href$='.mov']"
+        );
+        if (aDownload != null) {
+            found = aDownload.absUrl("href");
+        }
+
+        // 2) picture > source[srcset] (JPEG 우선)
+        if (isEmpty(found)) {
+            Element jpeg = doc.selectFirst("picture source[type*=jpeg][srcset], picture source[type*=jpg][srcset]");
+            Element any  = (jpeg != null) ? jpeg : doc.selectFirst("picture source[srcset]");
+            if (any != null) {
+                found = pickBestFromSrcset(any.attr("srcset"), doc.baseUri());
+            }
+        }
+
+        // 3) img[srcset]
+        if (isEmpty(found)) {
+            Element imgSrcset = doc.selectFirst("img[srcset]");
+            if (imgSrcset != null) {
+                found = pickBestFromSrcset(imgSrcset.attr("srcset"), imgSrcset.baseUri());
+            }
+        }
+
+        // 4) JSON-LD 안의 이미지/영상 URL
+        if (isEmpty(found)) {
+            for (Element s : doc.select("script[type=application/ld+json]")) {
+                String u = firstUrlFromJsonLd(s.data());
+                if (u != null) {
+                    found = u;
+                    break;
+                }
+            }
+        }
+
+        // 5) video poster/source
+        if (isEmpty(found)) {
+            Element video = doc.selectFirst("video[poster]");
+            if (video != null) {
+                found = video.absUrl("poster");
+            }
+            if (isEmpty(found)) {
+                Element vsrc = doc.selectFirst("video source[src]");
+                if (vsrc != null) {
+                    found = vsrc.absUrl("src");
+                }
+            }
+        }
+
+        // 6) og:image (fallback)
+        if (isEmpty(found)) {
+            Element og = doc.selectFirst("meta[property=og:image], meta[name=og:image], meta[itemprop=image]");
+            if (og != null) {
+                found = og.attr("abs:content");
+            }
+        }
+
+        // 7) 일반 img[src]
+        if (isEmpty(found)) {
+            Element img = doc.selectFirst("img[src]");
+            if (img != null) {
+                found = img.absUrl("src");
+            }
+        }
+
+        return isEmpty(found) ? null : found;
+    }
+
+    public static String extract(String html, String baseUrl) {
+        return extract(Jsoup.parse(html, baseUrl));
+    }
+
+    /**
+     * HTML/스크립트 본문에서 /QRimage/ 등 직결 이미지 URL 을 정규식으로 찾는다.
+     * qrImageOnly 면 /qrimage/ 경로만 인정 (인생네컷 페이지의 로고/배너 회피).
+     */
+    public static String scanDirectImageUrl(String html, boolean qrImageOnly) {
+        if (html == null) return null;
+        Matcher m = DIRECT_IMAGE.matcher(html);
+        while (m.find()) {
+            String candidate = m.group();
+            if (!qrImageOnly || candidate.toLowerCase(Locale.ROOT).contains("/qrimage/")) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public static String pickBestFromSrcset(String srcset, String base) {
+        if (srcset == null || srcset.isBlank()) return null;
+        String[] parts = srcset.split(",");
+        int bestW = -1;
+        String bestUrl = null;
+        for (String p : parts) {
+            String[] tok = p.trim().split("\\s+");
+            if (tok.length == 0) continue;
+            String url = tok[0];
+            int w = -1;
+            if (tok.length > 1 && tok[1].endsWith("w")) {
+                try { w = Integer.parseInt(tok[1].substring(0, tok[1].length() - 1)); } catch (Exception ignored) {}
+            }
+            if (w > bestW) { bestW = w; bestUrl = url; }
+        }
+        if (bestUrl == null) return null;
+        try { return new URL(new URL(base), bestUrl).toString(); } catch (Exception e) { return bestUrl; }
+    }
+
+    public static String firstUrlFromJsonLd(String json) {
+        if (json == null || json.isBlank()) return null;
+        Matcher m = JSON_LD_MEDIA.matcher(json);
+        String best = null;
+        while (m.find()) {
+            String u = m.group(1).replace("\\/", "/");
+            if (best == null || u.length() > best.length()) best = u;
+        }
+        return best;
+    }
+
+    public static boolean isSamePage(String candidate, String base) {
+        if (candidate == null || base == null) return false;
+        try {
+            URI a = new URI(candidate), b = new URI(base);
+            return a.getHost() != null && b.getHost() != null
+                    && a.getHost().equalsIgnoreCase(b.getHost())
+                    && ((a.getPath() == null ? "/" : a.getPath())
+                    .equals(b.getPath() == null ? "/" : b.getPath()));
+        } catch (Exception e) {
+            return candidate.equals(base);
+        }
+    }
+
+    private static boolean isEmpty(String s) {
+        return s == null || s.isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 인생네컷 전용 규칙.
+ * - download.life4cut.net/webQr?bucket=..&folderPath=.. 는 요청 없이 S3 직결 URL 로 점프
+ * - webQrJson 등 텍스트 응답은 /QRimage/ 경로만 골라낸다
+ * - HTML 은 /QRimage/ 직결 스캔을 먼저 하고, 범용 단계는 마지막 폴백으로만 사용
+ */
+@Slf4j
+@Component
+@Order(1)
+public class Life4cutQrResolver implements QrResolver {
+
+    private static final String S3_HOST_SUFFIX = ".s3.ap-northeast-2.amazonaws.com";
+
+    private static final Pattern QRIMAGE_MEDIA = Pattern.compile(
+            "(https?://[^\"'\\s]+/(?:QRimage|qrimage)[^\"'\\s]+\\.(?:jpg|jpeg|png|webp|mp4|webm|mov))",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    // download.life4cut.net 의 image?url=%2FQRimage%2F... 형태
+    private static final Pattern ENCODED_IMAGE = Pattern.compile(
+            "(/?image\\?url=[^\"'\\s>]+)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    @Override
+    public String brand() {
+        return "인생네컷";
+    }
+
+    @Override
+    public Set<String> hostLabels() {
+        return Set.of("life4cut");
+    }
+
+    @Override
+    public Set<String> keywords() {
+        return Set.of("life4cut", "인생네컷");
+    }
+
+    // 쿼리스트링의 bucket + folderPath 로 S3 직결 이미지 URL 을 만든다.
+    @Override
+    public String resolveDirect(URL webQrUrl) {
+        String path  = webQrUrl.getPath();
+        String query = webQrUrl.getQuery();
+        if (path == null || !path.contains("webQr")) return null;
+        if (query == null || query.isBlank()) return null;
+
+        String bucket = null;
+        String folderPath = null;
+        try {
+            for (String pair : query.split("&")) {
+                int idx = pair.indexOf('=');
+                if (idx <= 0) continue;
+
+                String key = URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8);
+                String value = URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8);
+
+                if ("bucket".equals(key)) {
+                    bucket = value;
+                } else if ("folderPath".equals(key)) {
+                    folderPath = value;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("[QR][life4cut] resolve error for {}: {}", webQrUrl, e.toString());
+            return null;
+        }
+
+        if (bucket == null || folderPath == null) {
+            log.info("[QR][life4cut] missing bucket/folderPath in query: {}", query);
+            return null;
+        }
+        if (!folderPath.startsWith("/")) {
+            folderPath = "/" + folderPath;
+        }
+
+        String s3Url = "https://" + bucket + S3_HOST_SUFFIX + folderPath + "/image.jpg";
+        log.info("[QR][life4cut] webQr={} -> directS3={}", webQrUrl, s3Url);
+        return s3Url;
+    }
+
+    @Override
+    public String extractFromHtml(String html, String baseUrl) {
+        String found = HtmlAssetExtractor.scanDirectImageUrl(html, true);
+        if (found == null) {
+            Matcher m = ENCODED_IMAGE.matcher(html);
+            if (m.find()) found = m.group(1);
+        }
+        if (found == null) {
+            found = HtmlAssetExtractor.extract(html, baseUrl);
+        }
+        return HtmlAssetExtractor.isSamePage(found, baseUrl) ? null : found;
+    }
+
+    @Override
+    public String extractFromText(String text) {
+        if (text == null || text.isEmpty()) return null;
+        // JSON 문자열 안의 \/ 를 / 로 먼저 보정
+        Matcher m = QRIMAGE_MEDIA.matcher(text.replace("\\/", "/"));
+        return m.find() ? m.group(1) : null;
+    }
+}
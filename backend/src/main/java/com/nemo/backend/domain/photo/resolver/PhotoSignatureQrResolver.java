@@ -0,0 +1,15 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@Order(4)
+public class PhotoSignatureQrResolver extends BrandQrResolver {
+
+    public PhotoSignatureQrResolver() {
+        super("포토시그니쳐", Set.of("photosignature", "signature"), Set.of("signature", "포토시그니쳐"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@Order(3)
+public class PhotoismQrResolver extends BrandQrResolver {
+
+    public PhotoismQrResolver() {
+        super("포토이즘", Set.of("photoism"), Set.of("photoism", "포토이즘"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import java.net.URL;
+import java.util.Set;
+
+/**
+ * 포토부스 브랜드별 QR 해석 규칙 (SPI).
+ * QrResolverRegistry 가 호스트 라벨로 구현체를 골라 크롤러(QrAssetFetcher)에 넘겨준다.
+ */
+public interface QrResolver {
+
+    /** Photo.brand 에 저장할 브랜드명 (예: 인생네컷) */
+    String brand();
+
+    /** 디스패치용 호스트 라벨 (예: download.life4cut.net → "life4cut") */
+    Set<String> hostLabels();
+
+    /** URL 이 아닌 페이로드에서 브랜드를 추정할 때 쓰는 키워드 (소문자) */
+    default Set<String> keywords() {
+        return hostLabels();
+    }
+
+    /**
+     * 요청을 보내기 전에 URL 만 보고 원본 자산 URL 로 바로 점프할 수 있으면 반환.
+     * 알려진 벤더는 여기서 HTML 홉을 건너뛴다. 모르면 null.
+     */
+    default String resolveDirect(URL url) {
+        return null;
+    }
+
+    /** HTML 응답에서 다음에 따라갈 이미지/영상 URL 추출. 없으면 null */
+    String extractFromHtml(String html, String baseUrl);
+
+    /** JSON/텍스트 응답에서 이미지/영상 URL 추출. 없으면 null */
+    default String extractFromText(String text) {
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 호스트 라벨 → QrResolver 디스패치 테이블.
+ * 기동 시 한 번 만들어 두고, 조회는 호스트를 '.' 으로 쪼갠 라벨별 해시 조회로 끝낸다.
+ * 라벨로 못 찾으면 키워드 포함 여부로 한 번 더 보고, 그래도 없으면 범용 규칙.
+ * 키워드는 resolver 의 @Order 순서로 본다 (인생네컷 → 하루필름 → 포토이즘 → 포토시그니쳐 → 트윈포토).
+ */
+@Component
+public class QrResolverRegistry {
+
+    private final List<QrResolver> resolvers;
+    private final Map<String, QrResolver> byHostLabel = new HashMap<>();
+    private final QrResolver fallback = new GenericQrResolver();
+
+    public QrResolverRegistry(List<QrResolver> resolvers) {
+        this.resolvers = List.copyOf(resolvers);
+        for (QrResolver r : this.resolvers) {
+            for (String label : r.hostLabels()) {
+                QrResolver prev = byHostLabel.putIfAbsent(label.toLowerCase(Locale.ROOT), r);
+                if (prev != null && prev != r) {
+                    throw new IllegalStateException("QR host label 중복: " + label
+                            + " (" + prev.brand() + ", " + r.brand() + ")");
+                }
+            }
+        }
+    }
+
+    /** 요청 URL 의 호스트로 규칙 선택 */
+    public QrResolver forUrl(URL url) {
+        return forHost(url.getHost());
+    }
+
+    private QrResolver forHost(String rawHost) {
+        String host = (rawHost == null) ? "" : rawHost.toLowerCase(Locale.ROOT);
+        for (String label : host.split("\\.")) {
+            QrResolver r = byHostLabel.get(label);
+            if (r != null) return r;
+        }
+        QrResolver byKeyword = byKeyword(host);
+        return (byKeyword != null) ? byKeyword : fallback;
+    }
+
+    /** QR 원문(URL 이 아닐 수도 있음)으로 브랜드명 추정 */
+    public String inferBrand(String qrPayload) {
+        if (qrPayload == null) return GenericQrResolver.BRAND;
+        try {
+            QrResolver r = forHost(URI.create(qrPayload.trim()).getHost());
+            if (r != fallback) return r.brand();
+        } catch (Exception ignore) {
+            // URL 이 아니면 키워드로 판단
+        }
+        QrResolver r = byKeyword(qrPayload.toLowerCase(Locale.ROOT));
+        return (r != null) ? r.brand() : GenericQrResolver.BRAND;
+    }
+
+    private QrResolver byKeyword(String lowerText) {
+        for (QrResolver r : resolvers) {
+            for (String kw : r.keywords()) {
+                if (lowerText.contains(kw)) return r;
+            }
+        }
+        return null;
+    }
+}
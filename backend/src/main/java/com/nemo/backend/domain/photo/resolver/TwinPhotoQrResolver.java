@@ -0,0 +1,15 @@
+package com.nemo.backend.domain.photo.resolver;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@Order(5)
+public class TwinPhotoQrResolver extends BrandQrResolver {
+
+    public TwinPhotoQrResolver() {
+        super("트윈포토", Set.of("twinphoto", "twin"), Set.of("twin", "트윈포토"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 클라이언트 → S3 직접 업로드 (앱 서버를 바이트가 거치지 않음).
+ * 1) 세션 발급: 사용자 전용 키(uploads/{userId}/..)에 대한 presigned PUT 을 발급.
+ *    Content-Length / Content-Type 이 서명에 포함되므로 선언과 다른 크기·형식은 S3 가 거부한다.
+ * 2) 완료 확인: HEAD 로 크기, 앞부분 Range GET 으로 매직넘버(키 확장자와 일치하는지)를 검사한 뒤 키를 돌려준다 (실패 시 객체 삭제).
+ * 세션은 키 자체(사용자 접두어)로 소유자를 묶으므로 서버에 따로 저장하지 않는다.
+ * 완료되지 않은 업로드는 고아 객체로 남아 정리 대상이 된다.
+ */
+@Slf4j
+@Service
+public class DirectUploadService {
+
+    /** 발급된 업로드 세션. 클라이언트는 uploadUrl 로 headers 를 그대로 붙여 PUT 한다 */
+    public record UploadSession(String uploadKey,
+                                String uploadUrl,
+                                String method,
+                                Map<String, String> headers,
+                                Instant expiresAt) {}
+
+    private static final Map<String, String> ALLOWED_TYPES = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/webp", "webp",
+            "image/heic", "heic"
+    );
+    private static final List<String> HEIC_BRANDS = List.of("heic", "heix", "hevc", "hevx", "mif1", "msf1");
+    private static final int HEAD_BYTES = 32;
+
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    public DirectUploadService(S3Client s3Client,
+                               S3Presigner presigner,
+                               @Value("${app.s3.bucket}") String bucket,
+                               @Value("${app.upload.direct.max-mb:20}") long maxMb,
+                               @Value("${app.upload.direct.ttl-minutes:10}") long ttlMinutes) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.maxBytes = maxMb * 1024 * 1024;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public UploadSession createSession(Long userId, String contentType, Long size) {
+        String mime = (contentType == null) ? "" : contentType.trim().toLowerCase(Locale.ROOT);
+        String ext = ALLOWED_TYPES.get(mime);
+        if (ext == null) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "지원하지 않는 파일 형식입니다: " + contentType);
+        }
+        if (size == null || size <= 0 || size > maxBytes) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT,
+                    "파일 크기는 1바이트 이상 " + (maxBytes / 1024 / 1024) + "MB 이하여야 합니다.");
+        }
+
+        String key = String.format("%s%s/%s.%s", userPrefix(userId), LocalDate.now(), UUID.randomUUID(), ext);
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(r -> r
+                .signatureDuration(ttl)
+                .putObjectRequest(p -> p
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(mime)
+                        .contentLength(size)));
+
+        return new UploadSession(
+                key,
+                presigned.url().toString(),
+                "PUT",
+                Map.of("Content-Type", mime, "Content-Length", String.valueOf(size)),
+                presigned.expiration()
+        );
+    }
+
+    /**
+     * 업로드 완료 확인. 본인 세션 키인지, 크기와 매직넘버가 맞는지 검사한다.
+     * 검사에 실패한 객체는 지운다. 원본 전체를 내려받지 않는다 (앞 32바이트만).
+     */
+    public String verify(Long userId, String uploadKey) {
+        if (uploadKey == null || !uploadKey.startsWith(userPrefix(userId)) || uploadKey.contains("..")) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "본인 업로드 세션이 아닙니다.");
+        }
+
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(b -> b.bucket(bucket).key(uploadKey));
+        } catch (NoSuchKeyException e) {
+            throw new ApiException(ErrorCode.NOT_FOUND, "업로드된 파일이 없습니다. 업로드 후 다시 시도해주세요.");
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new ApiException(ErrorCode.NOT_FOUND, "업로드된 파일이 없습니다. 업로드 후 다시 시도해주세요.");
+            }
+            throw new ApiException(ErrorCode.STORAGE_FAILED, "업로드 확인 실패: " + e.getMessage(), e);
+        } catch (SdkClientException e) {
+            throw new ApiException(ErrorCode.STORAGE_FAILED, "업로드 확인 실패: " + e.getMessage(), e);
+        }
+
+        Long size = head.contentLength();
+        if (size == null || size <= 0 || size > maxBytes) {
+            reject(uploadKey);
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "업로드된 파일 크기가 허용 범위를 벗어났습니다.");
+        }
+
+        ResponseBytes<GetObjectResponse> first;
+        try {
+            first = s3Client.getObjectAsBytes(b -> b
+                    .bucket(bucket)
+                    .key(uploadKey)
+                    .range("bytes=0-" + (HEAD_BYTES - 1)));
+        } catch (NoSuchKeyException e) {
+            throw new ApiException(ErrorCode.NOT_FOUND, "업로드된 파일이 없습니다. 업로드 후 다시 시도해주세요.");
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new ApiException(ErrorCode.NOT_FOUND, "업로드된 파일이 없습니다. 업로드 후 다시 시도해주세요.");
+            }
+            throw new ApiException(ErrorCode.STORAGE_FAILED, "업로드 확인 실패: " + e.getMessage(), e);
+        } catch (SdkClientException e) {
+            throw new ApiException(ErrorCode.STORAGE_FAILED, "업로드 확인 실패: " + e.getMessage(), e);
+        }
+
+        String detected = detectImageMime(first.asByteArray());
+        if (detected == null || !ALLOWED_TYPES.containsKey(detected)) {
+            reject(uploadKey);
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지 파일이 아닙니다.");
+        }
+        // 키 확장자는 세션 발급 때 선언한 형식 → 실제 바이트 형식과 달라도 거부 (.jpg 키에 PNG 등)
+        if (!ALLOWED_TYPES.get(detected).equals(extensionOf(uploadKey))) {
+            reject(uploadKey);
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "선언한 파일 형식과 실제 형식이 다릅니다.");
+        }
+        return uploadKey;
+    }
+
+    private void reject(String key) {
+        try {
+            s3Client.deleteObject(b -> b.bucket(bucket).key(key));
+        } catch (Exception e) {
+            log.warn("[UPLOAD][direct] failed to delete rejected object key={}: {}", key, e.toString());
+        }
+    }
+
+    private static String userPrefix(Long userId) {
+        return "uploads/" + userId + "/";
+    }
+
+    private static String extensionOf(String key) {
+        int dot = key.lastIndexOf('.');
+        return (dot < 0) ? "" : key.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String detectImageMime(byte[] b) {
+        if (b == null || b.length < 12) return null;
+        if ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) return "image/jpeg";
+        if (b[0] == (byte) 0x89 && b[1] == 0x50 && b[2] == 0x4E && b[3] == 0x47) return "image/png";
+        if (b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') return "image/webp";
+        if (b[4] == 'f' && b[5] == 't' && b[6] == 'y' && b[7] == 'p') {
+            String brand = new String(b, 8, 4, StandardCharsets.US_ASCII);
+            if (HEIC_BRANDS.contains(brand)) return "image/heic";
+        }
+        return null;
+    }
+}
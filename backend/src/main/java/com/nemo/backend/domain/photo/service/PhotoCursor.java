@@ -0,0 +1,48 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 사진 목록 커서 (마지막으로 내려준 행의 takenAt, id + 정렬 방향).
+ * takenAt 이 null 이면 촬영일 없는 행 구간(id 순)에 있다는 뜻.
+ * 클라이언트에는 Base64URL 문자열로만 보이고 내용에 의존하지 않는다.
+ */
+public record PhotoCursor(boolean ascending, LocalDateTime takenAt, long id) {
+
+    // 경계값 (MariaDB DATETIME 범위 안)
+    static final LocalDateTime MIN = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /** 첫 페이지: 정렬 방향의 맨 앞보다 앞 (오래된순은 촬영일 없는 구간부터) */
+    public static PhotoCursor first(boolean ascending) {
+        return ascending ? new PhotoCursor(true, null, 0L) : new PhotoCursor(false, MAX, Long.MAX_VALUE);
+    }
+
+    public boolean undated() {
+        return takenAt == null;
+    }
+
+    public String encode() {
+        String raw = (ascending ? "a" : "d") + "|" + (takenAt == null ? "" : takenAt) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PhotoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !(parts[0].equals("a") || parts[0].equals("d"))) {
+                throw new IllegalArgumentException(raw);
+            }
+            LocalDateTime takenAt = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new PhotoCursor(parts[0].equals("a"), takenAt, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "cursor 값이 올바르지 않습니다.");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.repository.PhotoListRow;
+
+import java.util.List;
+
+/** 커서 목록 한 페이지. nextCursor 가 null 이면 더 없음 */
+public record PhotoCursorPage(List<PhotoListRow> rows, String nextCursor) {
+}
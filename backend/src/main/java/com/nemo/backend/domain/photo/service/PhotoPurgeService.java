@@ -0,0 +1,172 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.album.repository.AlbumRepository;
+import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.entity.PhotoTombstone;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.PhotoTombstoneRepository;
+import com.nemo.backend.domain.timeline.repository.TimelineRepository;
+import com.nemo.backend.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 삭제 표시 후 보존 기간(retention-days)이 지난 사진을 영구 삭제.
+ * - 한 배치(batch-size)씩 자체 트랜잭션으로: Timeline 행 삭제 → QR 사진은 tombstone 기록 → 사진 행 삭제
+ * - deletedAt 이 없는 예전 삭제 표시 행은 실행 시 지금 시각을 찍어, 그때부터 보존 기간을 센다
+ * - 커밋 후 저장 객체(원본/축소본)를 PhotoStorage.release 로 해제 (내용 주소 객체는 마지막 참조일 때만 삭제,
+ *   실제로 지운 키는 S3PhotoStorage 가 /files/** 로컬 캐시에서도 내보낸다)
+ * - 앨범 썸네일이나 사용자 프로필 이미지로 쓰이는 URL 은 남긴다 (더 이상 참조되지 않게 되면 고아 정리에서 처리)
+ * 객체 해제가 실패해도 행은 이미 지워졌으므로 남은 객체는 OrphanObjectSweeper 가 정리한다.
+ */
+@Slf4j
+@Service
+public class PhotoPurgeService {
+
+    private static final String FILES_PATH = "/files/";
+
+    private final PhotoRepository photoRepository;
+    private final PhotoTombstoneRepository photoTombstoneRepository;
+    private final TimelineRepository timelineRepository;
+    private final AlbumRepository albumRepository;
+    private final UserRepository userRepository;
+    private final PhotoStorage storage;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public PhotoPurgeService(PhotoRepository photoRepository,
+                             PhotoTombstoneRepository photoTombstoneRepository,
+                             TimelineRepository timelineRepository,
+                             AlbumRepository albumRepository,
+                             UserRepository userRepository,
+                             PhotoStorage storage,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.photo.purge.enabled:false}") boolean enabled,
+                             @Value("${app.photo.purge.retention-days:30}") int retentionDays,
+                             @Value("${app.photo.purge.batch-size:200}") int batchSize,
+                             @Value("${app.photo.purge.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.photoRepository = photoRepository;
+        this.photoTombstoneRepository = photoTombstoneRepository;
+        this.timelineRepository = timelineRepository;
+        this.albumRepository = albumRepository;
+        this.userRepository = userRepository;
+        this.storage = storage;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+    }
+
+    @Scheduled(cron = "${app.photo.purge.cron:0 30 4 * * *}")
+    public void scheduledPurge() {
+        if (!enabled) return;
+        try {
+            int purged = purge();
+            if (purged > 0) {
+                log.info("[PHOTO][purge] purged={} (retentionDays={})", purged, retentionDays);
+            }
+        } catch (Exception e) {
+            log.warn("[PHOTO][purge] run failed: {}", e.toString());
+        }
+    }
+
+    /** 최대 max-batches-per-run 배치를 처리하고 영구 삭제한 사진 수를 반환 */
+    public int purge() {
+        int stamped = photoRepository.stampMissingDeletedAt(LocalDateTime.now());
+        if (stamped > 0) {
+            log.info("[PHOTO][purge] stamped deletedAt on {} legacy deleted photo(s)", stamped);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<String> keys = new ArrayList<>();
+            Integer purged = tx.execute(status -> purgeBatch(cutoff, keys));
+            int n = (purged != null) ? purged : 0;
+            releaseQuietly(keys);
+            total += n;
+            if (n < batchSize) break; // 남은 대상 없음
+        }
+        return total;
+    }
+
+    /** 한 배치 삭제. 해제할 저장 객체 키는 keysOut 에 담는다 (커밋 후 처리) */
+    private int purgeBatch(LocalDateTime cutoff, List<String> keysOut) {
+        List<Photo> photos = photoRepository.findPurgeCandidates(cutoff, PageRequest.of(0, batchSize));
+        if (photos.isEmpty()) return 0;
+
+        List<Long> ids = photos.stream().map(Photo::getId).toList();
+        timelineRepository.deleteByPhotoIds(ids);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PhotoTombstone> tombstones = photos.stream()
+                .filter(p -> p.getQrHash() != null)
+                .map(p -> new PhotoTombstone(p.getQrHash(), p.getUserId(), now))
+                .toList();
+        photoTombstoneRepository.saveAll(tombstones);
+
+        photoRepository.deleteAllByIdInBatch(ids);
+
+        // 저장 객체: 원본 + 썸네일 + 축소본
+        Set<String> urls = new LinkedHashSet<>();
+        Set<String> renditionKeys = new LinkedHashSet<>();
+        for (Photo p : photos) {
+            urls.add(p.getImageUrl());
+            if (p.getThumbnailUrl() != null) urls.add(p.getThumbnailUrl());
+            if (p.getRenditionKeys() != null) {
+                for (String entry : p.getRenditionKeys().split(",")) {
+                    int eq = entry.indexOf('=');
+                    if (eq > 0) renditionKeys.add(entry.substring(eq + 1).trim());
+                }
+            }
+        }
+        // 앨범 썸네일 / 프로필 이미지로 쓰이는 객체는 남긴다 (URL 은 어느 베이스든 '/files/{키}' 로 끝나므로 키로 비교)
+        urls.remove(null);
+        Set<String> inUse = new HashSet<>();
+        albumRepository.findCoverPhotoUrlsIn(urls).forEach(u -> inUse.add(keyOf(u)));
+        userRepository.findProfileImageUrlsIn(urls).forEach(u -> inUse.add(keyOf(u)));
+        Set<String> keys = new LinkedHashSet<>();
+        for (String url : urls) {
+            String key = keyOf(url);
+            if (key != null && !inUse.contains(key)) keys.add(key);
+        }
+        for (String key : renditionKeys) {
+            if (!inUse.contains(key)) keys.add(key);
+        }
+        keysOut.addAll(keys);
+        return photos.size();
+    }
+
+    /** '{베이스}/files/{키}' 에서 키 (배포 주소가 바뀐 예전 행도 처리). 우리 객체가 아니면 null */
+    private static String keyOf(String url) {
+        int i = url.indexOf(FILES_PATH);
+        if (i < 0) return null;
+        String key = url.substring(i + FILES_PATH.length());
+        return key.isBlank() ? null : key;
+    }
+
+    private void releaseQuietly(List<String> keys) {
+        for (String key : keys) {
+            try {
+                storage.release(key);
+            } catch (Exception e) {
+                log.warn("[PHOTO][purge] release failed key={}: {}", key, e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.file.ImageTranscoder;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 업로드 후 축소본(썸네일) 생성.
+ * - 사진 저장 트랜잭션이 커밋된 뒤 전용 실행기에서 원본을 한 번 내려받아 너비별 JPEG 를 만든다
+ * - 축소본은 원본 키 옆 파생 키(..._w{너비}.jpg)에 저장
+ * - 가장 작은 축소본을 thumbnailUrl 로, 전체 목록을 renditionKeys 로 기록 → 목록 API 는 thumbnailUrl 사용
+ * - 원본은 JPEG(CMYK 포함)/PNG/WebP 를 읽는다 (TwelveMonkeys imageio-jpeg / imageio-webp).
+ *   WebP 플러그인은 읽기 전용이라 축소본은 항상 JPEG
+ * 실패하거나 큐가 가득 차면 thumbnailUrl 은 원본 URL 그대로 둔다.
+ */
+@Slf4j
+@Service
+public class PhotoRenditionService {
+
+    private final PhotoRepository photoRepository;
+    private final PhotoStorage storage;
+    private final TaskExecutor executor;
+    private final String filesPrefix;
+    private final int[] widths;
+    private final float quality;
+
+    public PhotoRenditionService(PhotoRepository photoRepository,
+                                 PhotoStorage storage,
+                                 @Qualifier("photoRenditionExecutor") TaskExecutor executor,
+                                 @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl,
+                                 @Value("${app.photo.rendition.widths:320,640,1280}") int[] widths,
+                                 @Value("${app.photo.rendition.jpeg-quality:0.82}") float quality) {
+        this.photoRepository = photoRepository;
+        this.storage = storage;
+        this.executor = executor;
+        this.filesPrefix = publicBaseUrl.replaceAll("/+$", "") + "/files/";
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.quality = quality;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPhotoStored(PhotoStoredEvent event) {
+        String key = toKey(event.imageUrl());
+        if (key == null || widths.length == 0) return;
+        try {
+            executor.execute(() -> generate(event.photoId(), key));
+        } catch (RejectedExecutionException e) {
+            log.warn("[PHOTO][rendition] queue full, skipped photoId={}", event.photoId());
+        }
+    }
+
+    private void generate(Long photoId, String originalKey) {
+        try {
+            Map<Integer, byte[]> renditions;
+            try (InputStream in = storage.load(originalKey)) {
+                renditions = ImageTranscoder.resizeToJpegs(in, widths, quality);
+            }
+            if (renditions.isEmpty()) {
+                log.info("[PHOTO][rendition] unsupported image, photoId={}, key={}", photoId, originalKey);
+                return;
+            }
+
+            // 너비별 업로드를 동시에 보내고 전부 끝날 때까지만 기다린다
+            StringJoiner keys = new StringJoiner(",");
+            String smallestKey = null;
+            List<CompletableFuture<Void>> uploads = new ArrayList<>();
+            for (Map.Entry<Integer, byte[]> e : renditions.entrySet()) {
+                String derived = derivedKey(originalKey, e.getKey());
+                uploads.add(storage.storeAtAsync(derived, e.getValue(), "image/jpeg"));
+                keys.add(e.getKey() + "=" + derived);
+                if (smallestKey == null) smallestKey = derived;
+            }
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+
+            photoRepository.updateRenditions(photoId, filesPrefix + smallestKey, keys.toString());
+
+            log.info("[PHOTO][rendition] photoId={}, renditions={}", photoId, keys);
+        } catch (Exception e) {
+            log.warn("[PHOTO][rendition] failed photoId={}, key={}: {}", photoId, originalKey, e.toString());
+        }
+    }
+
+    /** albums/2025-01-01/abc.png → albums/2025-01-01/abc_w320.jpg */
+    static String derivedKey(String originalKey, int width) {
+        int slash = originalKey.lastIndexOf('/');
+        int dot = originalKey.lastIndexOf('.');
+        String base = (dot > slash) ? originalKey.substring(0, dot) : originalKey;
+        return base + "_w" + width + ".jpg";
+    }
+
+    /** 우리 /files/ 공개 URL 만 대상 (외부 URL 이면 null) */
+    private String toKey(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(filesPrefix)) return null;
+        String key = imageUrl.substring(filesPrefix.length());
+        return key.isBlank() ? null : key;
+    }
+}
@@ -2,6 +2,7 @@
 package com.nemo.backend.domain.photo.service;
 
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
+import com.nemo.backend.domain.photo.repository.PhotoListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,12 +23,28 @@ public interface PhotoService {
             String memo
     );
 
+    /** S3 직접 업로드(presigned PUT) 완료 후 검증하고 사진 행을 만든다 */
+    PhotoResponseDto registerDirectUpload(
+            Long userId,
+            String uploadKey,
+            String brand,
+            String location,
+            LocalDateTime takenAt,
+            String memo
+    );
+
     Page<PhotoResponseDto> list(Long userId, Pageable pageable, Boolean favorite);
 
     default Page<PhotoResponseDto> list(Long userId, Pageable pageable) {
         return list(userId, pageable, null);
     }
 
+    /** 목록 화면용: 필요한 컬럼만 읽는 projection (정렬은 pageable 의 Sort) */
+    Page<PhotoListRow> listRows(Long userId, Pageable pageable, Boolean favorite);
+
+    /** 커서 목록 (takenAt, id 기준 keyset). nextCursor 가 null 이면 마지막 페이지 */
+    PhotoCursorPage listRowsByCursor(Long userId, PhotoCursor cursor, int size, Boolean favorite);
+
     void delete(Long userId, Long photoId);
 
     PhotoResponseDto getDetail(Long userId, Long photoId);
@@ -1,64 +1,74 @@
 // backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoServiceImpl.java
 package com.nemo.backend.domain.photo.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
 import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.repository.PhotoListRow;
 import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.PhotoTombstoneRepository;
+import com.nemo.backend.domain.photo.resolver.QrResolverRegistry;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HexFormat;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static com.nemo.backend.domain.photo.service.S3PhotoStorage.StorageException;
 
 @Slf4j
 @Service
 @Transactional
 public class PhotoServiceImpl implements PhotoService {
 
-    private static final int CONNECT_TIMEOUT_MS = 5000;
-    private static final int READ_TIMEOUT_MS    = 10000;
-    private static final int MAX_REDIRECTS      = 5;
-    private static final int MAX_HTML_FOLLOW    = 2;
-    private static final long MAX_BYTES         = 50L * 1024 * 1024;
-    private static final String USER_AGENT      = "Mozilla/5.0 Nemo/1.0";
-    private static final int MIN_IMAGE_BYTES    = 5 * 1024;
-
-    private static final ObjectMapper JSON = new ObjectMapper();
-
     private final PhotoRepository photoRepository;
+    private final PhotoTombstoneRepository photoTombstoneRepository;
     private final PhotoStorage storage;
+    private final QrAssetFetcher qrAssetFetcher;
+    private final QrAssetCache qrAssetCache;
+    private final QrUploadSingleFlight qrUploadSingleFlight;
+    private final QrResolverRegistry resolverRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DirectUploadService directUploadService;
+    private final TransactionTemplate tx;
     private final String publicBaseUrl;
 
     public PhotoServiceImpl(PhotoRepository photoRepository,
+                            PhotoTombstoneRepository photoTombstoneRepository,
                             PhotoStorage storage,
+                            QrAssetFetcher qrAssetFetcher,
+                            QrAssetCache qrAssetCache,
+                            QrUploadSingleFlight qrUploadSingleFlight,
+                            QrResolverRegistry resolverRegistry,
+                            ApplicationEventPublisher eventPublisher,
+                            DirectUploadService directUploadService,
+                            PlatformTransactionManager transactionManager,
                             @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl) {
         this.photoRepository = photoRepository;
+        this.photoTombstoneRepository = photoTombstoneRepository;
         this.storage = storage;
+        this.qrAssetFetcher = qrAssetFetcher;
+        this.qrAssetCache = qrAssetCache;
+        this.qrUploadSingleFlight = qrUploadSingleFlight;
+        this.resolverRegistry = resolverRegistry;
+        this.eventPublisher = eventPublisher;
+        this.directUploadService = directUploadService;
+        this.tx = new TransactionTemplate(transactionManager);
         this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
     }
 
@@ -68,8 +78,11 @@ public class PhotoServiceImpl implements PhotoService {
 
     // ========================================================
     // 1) QR/갤러리 혼합 업로드 (location / memo 저장, video는 DB에 안 넣음)
+    //  - single-flight 대기/크롤링/스토리지 저장은 트랜잭션 밖에서 (커넥션을 잡은 채 기다리지 않음)
+    //  - 행 저장만 짧은 트랜잭션 → 커밋 뒤 flight 해제
     // ========================================================
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PhotoResponseDto uploadHybrid(Long userId,
                                          String qrUrlOrPayload,
                                          MultipartFile image,
@@ -92,12 +105,31 @@ public class PhotoServiceImpl implements PhotoService {
             throw new ApiException(ErrorCode.INVALID_ARGUMENT, "image 또는 qrUrl/qrCode 중 하나는 필수입니다.");
         }
 
-        // QR 중복 차단
-        if (qrUrlOrPayload != null && !qrUrlOrPayload.isBlank()) {
-            String qrHash = sha256Hex(qrUrlOrPayload);
+        if (qrUrlOrPayload == null || qrUrlOrPayload.isBlank()) {
+            return doUploadHybrid(userId, null, image, brand, location, takenAt, memo);
+        }
+
+        // 같은 QR 동시 업로드는 한 번만 크롤링/저장 (나머지는 결과 대기)
+        String qrHash = sha256Hex(qrUrlOrPayload);
+        return qrUploadSingleFlight.run(qrHash, userId, () -> {
+            // QR 중복 차단
             photoRepository.findByQrHash(qrHash)
                     .ifPresent(p -> { throw new ApiException(ErrorCode.CONFLICT, "이미 업로드된 QR입니다."); });
-        }
+            // 영구 삭제된 사진의 QR 도 계속 차단 (삭제 표시 행이 있을 때와 동일하게)
+            if (photoTombstoneRepository.existsById(qrHash)) {
+                throw new ApiException(ErrorCode.CONFLICT, "이미 업로드된 QR입니다.");
+            }
+            return doUploadHybrid(userId, qrUrlOrPayload, image, brand, location, takenAt, memo);
+        });
+    }
+
+    private PhotoResponseDto doUploadHybrid(Long userId,
+                                            String qrUrlOrPayload,
+                                            MultipartFile image,
+                                            String brand,
+                                            String location,
+                                            LocalDateTime takenAt,
+                                            String memo) {
 
         String storedImage;
         String storedThumb;
@@ -111,10 +143,10 @@ public class PhotoServiceImpl implements PhotoService {
             } catch (ApiException ae) {
                 // 파일이 이미지가 아니면(HTML 등) → QR URL이 있으면 원격에서 다시 시도
                 if (ae.getErrorCode() == ErrorCode.INVALID_ARGUMENT && looksLikeUrl(qrUrlOrPayload)) {
-                    AssetPair ap = fetchAssetsFromQrPayload(qrUrlOrPayload);
-                    storedImage = ap.imageUrl;
-                    storedThumb = ap.thumbnailUrl != null ? ap.thumbnailUrl : ap.imageUrl;
-                    if (takenAt == null) takenAt = ap.takenAt;
+                    QrAsset asset = fetchAsset(qrUrlOrPayload);
+                    storedImage = asset.imageUrl();
+                    storedThumb = asset.thumbnailUrl() != null ? asset.thumbnailUrl() : asset.imageUrl();
+                    if (takenAt == null) takenAt = asset.takenAt();
                 } else {
                     throw ae;
                 }
@@ -126,14 +158,14 @@ public class PhotoServiceImpl implements PhotoService {
             if (!looksLikeUrl(qrUrlOrPayload)) {
                 throw new InvalidQrException("지원하지 않는 QR/URL 포맷입니다.");
             }
-            AssetPair ap = fetchAssetsFromQrPayload(qrUrlOrPayload);
-            storedImage = ap.imageUrl;
-            storedThumb = ap.thumbnailUrl != null ? ap.thumbnailUrl : ap.imageUrl;
-            if (takenAt == null) takenAt = ap.takenAt;
+            QrAsset asset = fetchAsset(qrUrlOrPayload);
+            storedImage = asset.imageUrl();
+            storedThumb = asset.thumbnailUrl() != null ? asset.thumbnailUrl() : asset.imageUrl();
+            if (takenAt == null) takenAt = asset.takenAt();
         }
 
         if (brand == null || brand.isBlank()) {
-            brand = (qrUrlOrPayload != null) ? inferBrand(qrUrlOrPayload) : "기타";
+            brand = (qrUrlOrPayload != null) ? resolverRegistry.inferBrand(qrUrlOrPayload) : "기타";
         }
         if (takenAt == null) takenAt = LocalDateTime.now();
 
@@ -152,8 +184,55 @@ public class PhotoServiceImpl implements PhotoService {
         );
         photo.setMemo(memo);
 
-        Photo saved = photoRepository.save(photo);
-        return new PhotoResponseDto(saved);
+        return tx.execute(status -> {
+            Photo saved = photoRepository.save(photo);
+            // 커밋 후 축소본 생성 (PhotoRenditionService)
+            eventPublisher.publishEvent(new PhotoStoredEvent(saved.getId(), saved.getImageUrl()));
+            return new PhotoResponseDto(saved);
+        });
+    }
+
+    // ========================================================
+    // 1-1) S3 직접 업로드 완료 (바이트는 앱 서버를 거치지 않음)
+    //  - S3 HEAD/부분 GET 검증은 트랜잭션 밖에서 (커넥션을 잡은 채 S3 를 기다리지 않음)
+    //  - 동시 완료 요청은 upload_key unique 위반 → CONFLICT
+    // ========================================================
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PhotoResponseDto registerDirectUpload(Long userId,
+                                                 String uploadKey,
+                                                 String brand,
+                                                 String location,
+                                                 LocalDateTime takenAt,
+                                                 String memo) {
+        if (uploadKey != null && photoRepository.existsByUploadKey(uploadKey)) {
+            throw new ApiException(ErrorCode.CONFLICT, "이미 완료된 업로드입니다.");
+        }
+        String key = directUploadService.verify(userId, uploadKey);
+        String url = toPublicUrl(key);
+
+        Photo photo = new Photo(
+                userId,
+                null,
+                url,
+                url,
+                null,
+                (brand == null || brand.isBlank()) ? "기타" : brand,
+                (takenAt != null) ? takenAt : LocalDateTime.now(),
+                location
+        );
+        photo.setMemo(memo);
+        photo.setUploadKey(key);
+
+        try {
+            return tx.execute(status -> {
+                Photo saved = photoRepository.save(photo);
+                eventPublisher.publishEvent(new PhotoStoredEvent(saved.getId(), saved.getImageUrl()));
+                return new PhotoResponseDto(saved);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new ApiException(ErrorCode.CONFLICT, "이미 완료된 업로드입니다.");
+        }
     }
 
     // ========================================================
@@ -164,13 +243,84 @@ public class PhotoServiceImpl implements PhotoService {
     public Page<PhotoResponseDto> list(Long userId, Pageable pageable, Boolean favorite) {
         Page<Photo> page;
         if (Boolean.TRUE.equals(favorite)) {
-            page = photoRepository.findByUserIdAndDeletedIsFalseAndFavoriteTrueOrderByCreatedAtDesc(userId, pageable);
+            page = photoRepository.findByUserIdAndDeletedIsFalseAndFavoriteTrue(userId, pageable, Photo.class);
         } else {
-            page = photoRepository.findByUserIdAndDeletedIsFalseOrderByCreatedAtDesc(userId, pageable);
+            page = photoRepository.findByUserIdAndDeletedIsFalse(userId, pageable, Photo.class);
         }
         return page.map(PhotoResponseDto::new);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PhotoListRow> listRows(Long userId, Pageable pageable, Boolean favorite) {
+        if (Boolean.TRUE.equals(favorite)) {
+            return photoRepository.findByUserIdAndDeletedIsFalseAndFavoriteTrue(userId, pageable, PhotoListRow.class);
+        }
+        return photoRepository.findByUserIdAndDeletedIsFalse(userId, pageable, PhotoListRow.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PhotoCursorPage listRowsByCursor(Long userId, PhotoCursor cursor, int size, Boolean favorite) {
+        boolean favoriteOnly = Boolean.TRUE.equals(favorite);
+        // 한 건 더 읽어 다음 페이지 유무 판단
+        int want = size + 1;
+        List<PhotoListRow> rows = new ArrayList<>(want);
+        if (cursor.ascending()) {
+            // 촬영일 없는 구간 → 날짜 있는 행
+            if (cursor.undated()) {
+                rows.addAll(undatedRows(userId, favoriteOnly, true, cursor.id(), want));
+                if (rows.size() < want) {
+                    rows.addAll(datedRows(userId, favoriteOnly, true, PhotoCursor.MIN, 0L, want - rows.size()));
+                }
+            } else {
+                rows.addAll(datedRows(userId, favoriteOnly, true, cursor.takenAt(), cursor.id(), want));
+            }
+        } else {
+            // 날짜 있는 행 → 촬영일 없는 구간
+            if (!cursor.undated()) {
+                rows.addAll(datedRows(userId, favoriteOnly, false, cursor.takenAt(), cursor.id(), want));
+                if (rows.size() < want) {
+                    rows.addAll(undatedRows(userId, favoriteOnly, false, Long.MAX_VALUE, want - rows.size()));
+                }
+            } else {
+                rows.addAll(undatedRows(userId, favoriteOnly, false, cursor.id(), want));
+            }
+        }
+
+        if (rows.size() <= size) {
+            return new PhotoCursorPage(rows, null);
+        }
+        List<PhotoListRow> page = rows.subList(0, size);
+        PhotoListRow last = page.get(size - 1);
+        return new PhotoCursorPage(page, new PhotoCursor(cursor.ascending(), last.getTakenAt(), last.getId()).encode());
+    }
+
+    private List<PhotoListRow> datedRows(Long userId, boolean favoriteOnly, boolean ascending,
+                                         LocalDateTime takenAt, long id, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+        if (ascending) {
+            return favoriteOnly
+                    ? photoRepository.findFavoriteRowsAfter(userId, takenAt, id, page)
+                    : photoRepository.findRowsAfter(userId, takenAt, id, page);
+        }
+        return favoriteOnly
+                ? photoRepository.findFavoriteRowsBefore(userId, takenAt, id, page)
+                : photoRepository.findRowsBefore(userId, takenAt, id, page);
+    }
+
+    private List<PhotoListRow> undatedRows(Long userId, boolean favoriteOnly, boolean ascending, long id, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+        if (ascending) {
+            return favoriteOnly
+                    ? photoRepository.findFavoriteUndatedRowsAfter(userId, id, page)
+                    : photoRepository.findUndatedRowsAfter(userId, id, page);
+        }
+        return favoriteOnly
+                ? photoRepository.findFavoriteUndatedRowsBefore(userId, id, page)
+                : photoRepository.findUndatedRowsBefore(userId, id, page);
+    }
+
     @Transactional(readOnly = true)
     public Page<PhotoResponseDto> list(Long userId, Pageable pageable) {
         return list(userId, pageable, null);
@@ -187,6 +337,7 @@ public class PhotoServiceImpl implements PhotoService {
             throw new ApiException(ErrorCode.UNAUTHORIZED, "삭제 권한이 없습니다.");
         }
         photo.setDeleted(true);
+        photo.setDeletedAt(LocalDateTime.now());
         photoRepository.save(photo);
     }
 
@@ -256,495 +407,14 @@ public class PhotoServiceImpl implements PhotoService {
         return next;
     }
 
-    // ======================================================================
-    // 아래부터는 QR 파싱 / HTTP 유틸 / life4cut 전용 로직
-    // 🔥 요청대로 알고리즘/로직은 그대로 두고, 사용처만 위에서 조정
-    // ======================================================================
-
-    private AssetPair fetchAssetsFromQrPayload(String startUrl) {
-        try {
-            log.info("[QR][fetch] startUrl={}", startUrl);
-            CookieManager cm = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
-            CookieHandler.setDefault(cm);
-
-            LinkedHashSet<String> visited = new LinkedHashSet<>();
-            String current = startUrl;
-            int htmlFollow = 0;
-            String foundImage = null, foundVideo = null, foundThumb = null;
-
-            for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
-                String norm = normalizeUrl(current);
-                if (!visited.add(norm)) {
-                    throw new IOException("Redirect loop: " + current);
-                }
-
-                log.info("[QR][fetch] step={}, current={}", redirects, current);
-
-                URL url = new URL(current);
-                HttpURLConnection conn = open(current, "GET", null, startUrl);
-                int code = conn.getResponseCode();
-
-                if (code / 100 == 3) {
-                    String location = conn.getHeaderField("Location");
-                    if (location == null || location.isBlank()) {
-                        throw new IOException("Redirect without Location");
-                    }
-                    current = new URL(url, location).toString();
-                    continue;
-                }
-
-                if (code < 200 || code >= 300) {
-                    throw new IOException("HTTP " + code + " from " + current);
-                }
-
-                String contentType = safeLower(conn.getContentType());
-                String cd = conn.getHeaderField("Content-Disposition");
-                boolean isAttachment = cd != null && cd.toLowerCase(Locale.ROOT).contains("attachment");
-
-                String specialNext = resolveLife4cutNextUrl(url);
-                if (specialNext != null && !isSamePage(specialNext, current)) {
-                    log.info("[QR][life4cut][forceJump] {} -> {}", current, specialNext);
-                    current = specialNext;
-                    continue;
-                }
-
-                if ((contentType != null &&
-                        (contentType.startsWith("image/") || contentType.startsWith("video/")))
-                        || isAttachment) {
-
-                    try (InputStream in = boundedStream(conn)) {
-                        byte[] data = in.readAllBytes();
-                        String ct = (contentType != null) ? contentType : "application/octet-stream";
-
-                        if (ct.startsWith("image/")) {
-                            ensureValidImageBytes(data);
-                            ct = sniffContentType(data, ct);
-                            String key = storage.storeBytes(
-                                    data,
-                                    filenameFromHeadersOrUrl(url, cd, ct),
-                                    ct
-                            );
-                            String publicUrl = toPublicUrl(key);
-                            if (foundImage == null) foundImage = publicUrl;
-                            if (foundThumb == null)  foundThumb  = publicUrl;
-                        } else if (ct.startsWith("video/")) {
-                            // 영상도 받아서 스토리지에 저장해 두지만,
-                            // 현재 명세상 API/엔티티에는 videoUrl을 노출하거나 저장하지 않는다.
-                            String key = storage.storeBytes(
-                                    data,
-                                    filenameFromHeadersOrUrl(url, cd, ct),
-                                    ct
-                            );
-                            String publicUrl = toPublicUrl(key);
-                            if (foundVideo == null) foundVideo = publicUrl;
-                        }
-                    } catch (Exception e) {
-                        throw new StorageException("파일 저장 실패", e);
-                    }
-
-                    break;
-                }
-
-                if (contentType != null && contentType.startsWith("text/html")) {
-                    if (htmlFollow >= MAX_HTML_FOLLOW) break;
-
-                    String html = readAll(conn.getInputStream());
-                    HtmlExtracted he = extractFromHtml(html, current);
-
-                    if (he.imageUrl != null && !isSamePage(he.imageUrl, current)) {
-                        current = new URL(url, he.imageUrl).toString();
-                        htmlFollow++;
-                        continue;
-                    }
-                    break;
-                }
-
-                break;
-            }
-
-            if (foundImage == null && foundVideo == null) {
-                throw new IOException("이미지/영상 URL을 찾지 못했습니다.");
-            }
-            if (foundThumb == null) foundThumb = foundImage;
-
-            return new AssetPair(foundImage, foundThumb, foundVideo, null);
-        } catch (StorageException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ApiException(ErrorCode.UPSTREAM_FAILED,
-                    "원격 자산 추출 실패: " + e.getMessage(), e);
-        }
-    }
-
-    // ===================== life4cut 전용 webQr → S3 처리 =====================
-
-    // 인생네컷 전용: download.life4cut.net/webQr 의 쿼리 파라미터에서
-    // bucket + folderPath 를 뽑아서 S3 직결 이미지 URL을 만든다.
-    private String resolveLife4cutNextUrl(URL webQrUrl) {
-        try {
-            String host  = webQrUrl.getHost();
-            String path  = webQrUrl.getPath();
-            String query = webQrUrl.getQuery();
-
-            if (host == null || path == null) return null;
-
-            String lowerHost = host.toLowerCase(Locale.ROOT);
-
-            // life4cut 도메인 + webQr 경로가 아니면 무시
-            if (!lowerHost.contains("life4cut")) return null;
-            if (!path.contains("webQr")) return null;
-            if (query == null || query.isBlank()) return null;
-
-            // 🔍 쿼리스트링에서 bucket / folderPath 추출
-            String bucket = null;
-            String folderPath = null;
-
-            String[] pairs = query.split("&");
-            for (String pair : pairs) {
-                int idx = pair.indexOf('=');
-                if (idx <= 0) continue;
-
-                String key = URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8);
-                String value = URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8);
-
-                if ("bucket".equals(key)) {
-                    bucket = value;
-                } else if ("folderPath".equals(key)) {
-                    folderPath = value;
-                }
-            }
-
-            if (bucket == null || folderPath == null) {
-                log.info("[QR][life4cut] missing bucket/folderPath in query: {}", query);
-                return null;
-            }
-
-            if (!folderPath.startsWith("/")) {
-                folderPath = "/" + folderPath;
-            }
-
-            String s3Url = "https://" + bucket + ".s3.ap-northeast-2.amazonaws.com"
-                    + folderPath
-                    + "/image.jpg";
-
-            log.info("[QR][life4cut] webQr={} -> directS3={}", webQrUrl, s3Url);
-
-            return s3Url;
-        } catch (Exception e) {
-            log.warn("[QR][life4cut] resolve error for {}: {}", webQrUrl, e.toString());
-            return null;
-        }
-    }
-
-    /**
-     * webQrJson 응답 문자열에서 S3 QRimage URL을 직접 찾는다.
-     */
-    private String extractLife4cutUrlFromText(String text) {
-        if (text == null || text.isEmpty()) return null;
-
-        // JSON 문자열 안의 \/ 를 / 로 먼저 보정
-        String normalized = text.replace("\\/", "/");
-
-        Pattern p = Pattern.compile(
-                "(https?://[^\"'\\s]+/(?:QRimage|qrimage)[^\"'\\s]+\\.(?:jpg|jpeg|png|webp|mp4|webm|mov))",
-                Pattern.CASE_INSENSITIVE
-        );
-        Matcher m = p.matcher(normalized);
-        if (m.find()) {
-            return m.group(1);
-        }
-        return null;
-    }
-
-    /**
-     * JSON 트리를 재귀 순회하며 QRimage 가 들어간 미디어 경로를 찾는다.
-     */
-    private String findLife4cutMediaRecursive(JsonNode node) {
-        if (node == null) return null;
-
-        if (node.isTextual()) {
-            String v = node.asText();
-            String candidate = v.replace("\\/", "/");
-            if (looksLikeLife4cutMedia(candidate)) {
-                return candidate;
-            }
-        }
-
-        if (node.isArray()) {
-            for (JsonNode child : node) {
-                String r = findLife4cutMediaRecursive(child);
-                if (r != null) return r;
-            }
-        } else if (node.isObject()) {
-            Iterator<JsonNode> it = node.elements();
-            while (it.hasNext()) {
-                String r = findLife4cutMediaRecursive(it.next());
-                if (r != null) return r;
-            }
-        }
-
-        return null;
-    }
-
-    private boolean looksLikeLife4cutMedia(String s) {
-        if (s == null) return false;
-        String lower = s.toLowerCase(Locale.ROOT);
-
-        if (!lower.contains("qrimage")) return false;
-
-        return lower.endsWith(".jpg") || lower.endsWith(".jpeg") ||
-                lower.endsWith(".png") || lower.endsWith(".webp") ||
-                lower.endsWith(".mp4") || lower.endsWith(".webm") ||
-                lower.endsWith(".mov");
-    }
-
-    // ===================== HTTP 유틸 =====================
-
-    private HttpURLConnection open(String url, String method, String body, String referer) throws IOException {
-        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-        conn.setInstanceFollowRedirects(false);
-        conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
-        conn.setReadTimeout(READ_TIMEOUT_MS);
-        conn.setRequestProperty("User-Agent", USER_AGENT);
-        conn.setRequestProperty("Accept", "image/jpeg,image/png,image/webp;q=0.9,text/html;q=0.8,*/*;q=0.5");
-        conn.setRequestProperty("Accept-Language", "ko,en;q=0.8");
-        if (referer != null) conn.setRequestProperty("Referer", referer);
-        conn.setRequestMethod(method);
-        if ("POST".equalsIgnoreCase(method) && body != null) {
-            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
-            conn.setDoOutput(true);
-            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
-            conn.setRequestProperty("Content-Length", String.valueOf(bytes.length));
-            try (OutputStream os = conn.getOutputStream()) { os.write(bytes); }
-        }
-        conn.connect();
-        return conn;
-    }
-
-    // ===================== HTML 파서 & 유틸 =====================
-
-    private HtmlExtracted extractFromHtml(String html, String baseUrl) {
-        Document doc = Jsoup.parse(html, baseUrl);
-        HtmlExtracted out = new HtmlExtracted();
-
-        // 1) 다운로드 링크 우선
-        Element aDownload = doc.selectFirst(
-                "a[download], a[href*='download'], a.btn-download, a#download, a.button, " +
-                        "a[href$='.jpg'], a[href$='.jpeg'], a[href$='.png'], a[href$='.webp'], " +
-                        "a[href$='.mp4'], a[href$='.webm'], a[href$='.mov']"
-        );
-        if (aDownload != null) {
-            out.imageUrl = aDownload.absUrl("href");
-        }
-
-        // 2) picture > source[srcset] (JPEG 우선)
-        if (out.imageUrl == null) {
-            Element jpeg = doc.selectFirst("picture source[type*=jpeg][srcset], picture source[type*=jpg][srcset]");
-            Element any  = (jpeg != null) ? jpeg : doc.selectFirst("picture source[srcset]");
-            if (any != null) {
-                out.imageUrl = pickBestFromSrcset(any.attr("srcset"), doc.baseUri());
-            }
-        }
-
-        // 3) img[srcset]
-        if (out.imageUrl == null) {
-            Element imgSrcset = doc.selectFirst("img[srcset]");
-            if (imgSrcset != null) {
-                out.imageUrl = pickBestFromSrcset(imgSrcset.attr("srcset"), imgSrcset.baseUri());
-            }
-        }
-
-        // 4) JSON-LD 안의 이미지/영상 URL
-        if (out.imageUrl == null) {
-            for (Element s : doc.select("script[type=application/ld+json]")) {
-                String j = s.data();
-                String u = firstUrlFromJsonLd(j);
-                if (u != null) {
-                    out.imageUrl = u;
-                    break;
-                }
-            }
-        }
-
-        // 5) video poster/source
-        if (out.imageUrl == null) {
-            Element video = doc.selectFirst("video[poster]");
-            if (video != null) {
-                out.imageUrl = video.absUrl("poster");
-            }
-            if (out.imageUrl == null) {
-                Element vsrc = doc.selectFirst("video source[src]");
-                if (vsrc != null) {
-                    out.imageUrl = vsrc.absUrl("src");
-                }
-            }
-        }
-
-        // 6) og:image (fallback)
-        if (out.imageUrl == null) {
-            Element og = doc.selectFirst("meta[property=og:image], meta[name=og:image], meta[itemprop=image]");
-            if (og != null) {
-                out.imageUrl = og.attr("abs:content");
-            }
-        }
-
-        // 7) 일반 img[src]
-        if (out.imageUrl == null) {
-            Element img = doc.selectFirst("img[src]");
-            if (img != null) {
-                out.imageUrl = img.absUrl("src");
-            }
-        }
-
-        // 8) 인생네컷 등: HTML/스크립트 안에서 직접 패턴 스캔
-        if (out.imageUrl == null && html != null) {
-            String lowerHtml = html.toLowerCase(Locale.ROOT);
-            String lowerBase = (baseUrl != null) ? baseUrl.toLowerCase(Locale.ROOT) : "";
-            boolean looksLife4cut = lowerHtml.contains("life4cut") || lowerBase.contains("life4cut");
-
-            // 8-1) S3 /QRimage/.../image.jpg 같은 직결 URL
-            Pattern directImg = Pattern.compile(
-                    "https?://[^\"'\\s>]+/(?:qrimage|qr_image|common)/[^\"'\\s>]+\\.(?:jpg|jpeg|png|webp)",
-                    Pattern.CASE_INSENSITIVE
-            );
-            Matcher mDirect = directImg.matcher(html);
-            while (mDirect.find()) {
-                String candidate = mDirect.group();
-                if (!looksLife4cut || candidate.toLowerCase(Locale.ROOT).contains("/qrimage/")) {
-                    out.imageUrl = candidate;
-                    break;
-                }
-            }
-
-            // 8-2) download.life4cut.net 의 image?url=%2FQRimage%2F... 형태
-            if (out.imageUrl == null && looksLife4cut) {
-                Pattern encoded = Pattern.compile(
-                        "(/?image\\?url=[^\"'\\s>]+)",
-                        Pattern.CASE_INSENSITIVE
-                );
-                Matcher mEnc = encoded.matcher(html);
-                if (mEnc.find()) {
-                    out.imageUrl = mEnc.group(1);
-                }
-            }
-        }
-
-        if (out.imageUrl != null && isSamePage(out.imageUrl, baseUrl)) {
-            out.imageUrl = null;
-        }
-
-        return out;
-    }
-
-    private String pickBestFromSrcset(String srcset, String base) {
-        if (srcset == null || srcset.isBlank()) return null;
-        String[] parts = srcset.split(",");
-        int bestW = -1;
-        String bestUrl = null;
-        for (String p : parts) {
-            String[] tok = p.trim().split("\\s+");
-            if (tok.length == 0) continue;
-            String url = tok[0];
-            int w = -1;
-            if (tok.length > 1 && tok[1].endsWith("w")) {
-                try { w = Integer.parseInt(tok[1].substring(0, tok[1].length() - 1)); } catch (Exception ignored) {}
-            }
-            if (w > bestW) { bestW = w; bestUrl = url; }
-        }
-        if (bestUrl == null) return null;
-        try { return new URL(new URL(base), bestUrl).toString(); } catch (Exception e) { return bestUrl; }
-    }
-
-    private String firstUrlFromJsonLd(String json) {
-        if (json == null || json.isBlank()) return null;
-        Pattern p = Pattern.compile(
-                "(https?:\\\\?/\\\\?/[^\"']+?\\.(?:jpg|jpeg|png|webp|mp4|webm|mov))",
-                Pattern.CASE_INSENSITIVE
-        );
-        Matcher m = p.matcher(json);
-        String best = null;
-        while (m.find()) {
-            String u = m.group(1).replace("\\/", "/");
-            if (best == null || u.length() > best.length()) best = u;
-        }
-        return best;
-    }
-
     // ===================== 기타 유틸 =====================
 
-    private String filenameFromHeadersOrUrl(URL base, String cdHeader, String contentType) {
-        return filenameFromHeadersOrUrl(base, cdHeader, contentType, true);
+    /** 같은 QR 은 qrHash 기준으로 캐시/진행 중 크롤링을 공유 */
+    private QrAsset fetchAsset(String qrUrlOrPayload) {
+        return qrAssetCache.getOrFetch(sha256Hex(qrUrlOrPayload), () -> qrAssetFetcher.fetch(qrUrlOrPayload));
     }
 
-    private String filenameFromHeadersOrUrl(URL base, String cdHeader, String contentType, boolean addExtIfMissing) {
-        if (cdHeader != null) {
-            Matcher m1 = Pattern.compile("filename\\*=UTF-8''([^;]+)", Pattern.CASE_INSENSITIVE).matcher(cdHeader);
-            if (m1.find()) return decodeRFC5987(m1.group(1));
-            Matcher m2 = Pattern.compile("filename=\"?([^\";]+)\"?", Pattern.CASE_INSENSITIVE).matcher(cdHeader);
-            if (m2.find()) return m2.group(1);
-        }
-        String path = base.getPath();
-        String last = (path == null || path.isBlank()) ? "file" : path.substring(path.lastIndexOf('/') + 1);
-        if (last.isBlank()) last = "file";
-        if (addExtIfMissing) {
-            String low = last.toLowerCase(Locale.ROOT);
-            if (!low.contains(".")) {
-                if (contentType != null) {
-                    if (contentType.contains("jpeg") || contentType.contains("jpg"))      last += ".jpg";
-                    else if (contentType.contains("png"))                                last += ".png";
-                    else if (contentType.contains("webp"))                               last += ".webp";
-                    else if (contentType.contains("mp4"))                                last += ".mp4";
-                }
-            }
-        }
-        return last;
-    }
-
-    private String decodeRFC5987(String s) {
-        try {
-            return URLDecoder.decode(s, StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            return s;
-        }
-    }
-
-    private String normalizeUrl(String u) {
-        try {
-            URI uri = new URI(u);
-            String scheme = (uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT));
-            String host = (uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT));
-            int port = uri.getPort();
-            String path = (uri.getPath() == null || uri.getPath().isEmpty()) ? "/" : uri.getPath();
-            String query = uri.getQuery();
-            StringBuilder sb = new StringBuilder();
-            sb.append(scheme).append("://").append(host);
-            if (port != -1 && port != uri.toURL().getDefaultPort()) sb.append(":").append(port);
-            sb.append(path);
-            if (query != null) sb.append("?").append(query);
-            return sb.toString();
-        } catch (Exception e) {
-            return u;
-        }
-    }
-
-    private boolean isSamePage(String candidate, String base) {
-        if (candidate == null || base == null) return false;
-        try {
-            URI a = new URI(candidate), b = new URI(base);
-            return a.getHost() != null && b.getHost() != null
-                    && a.getHost().equalsIgnoreCase(b.getHost())
-                    && ((a.getPath() == null ? "/" : a.getPath())
-                    .equals(b.getPath() == null ? "/" : b.getPath()));
-        } catch (Exception e) {
-            return candidate.equals(base);
-        }
-    }
-
-    private String safeLower(String s) {
-        return (s == null) ? null : s.toLowerCase(Locale.ROOT);
-    }
-
-    private String sha256Hex(String input) {
+    static String sha256Hex(String input) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             return HexFormat.of().formatHex(md.digest(input.getBytes(StandardCharsets.UTF_8)));
@@ -753,97 +423,8 @@ public class PhotoServiceImpl implements PhotoService {
         }
     }
 
-    private boolean looksLikeUrl(String s) {
+    static boolean looksLikeUrl(String s) {
         String t = s.trim().toLowerCase(Locale.ROOT);
         return t.startsWith("http://") || t.startsWith("https://");
     }
-
-    private InputStream boundedStream(HttpURLConnection conn) throws IOException {
-        long len = conn.getContentLengthLong();
-        if (len > 0 && len > MAX_BYTES) throw new IOException("File too large: " + len);
-        return new LimitedInputStream(conn.getInputStream(), MAX_BYTES);
-    }
-
-    private static class LimitedInputStream extends java.io.FilterInputStream {
-        private long remaining;
-        protected LimitedInputStream(InputStream in, long maxBytes) {
-            super(in);
-            this.remaining = maxBytes;
-        }
-        @Override public int read() throws IOException {
-            if (remaining <= 0) throw new IOException("Limit exceeded");
-            int b = super.read();
-            if (b != -1) remaining--;
-            return b;
-        }
-        @Override public int read(byte[] b, int off, int len) throws IOException {
-            if (remaining <= 0) throw new IOException("Limit exceeded");
-            len = (int) Math.min(len, remaining);
-            int n = super.read(b, off, len);
-            if (n > 0) remaining -= n;
-            return n;
-        }
-    }
-
-    private String readAll(InputStream in) throws IOException {
-        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
-    }
-
-    private void ensureValidImageBytes(byte[] data) throws IOException {
-        if (data == null || data.length < MIN_IMAGE_BYTES) throw new IOException("Image too small");
-        if (!looksLikeImage(data)) throw new IOException("Not an image content");
-    }
-
-    private static boolean looksLikeImage(byte[] data) {
-        if (data == null || data.length < 12) return false;
-        // JPEG
-        if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) return true;
-        // PNG
-        if ((data[0] & 0xFF) == 0x89 && data[1]=='P' && data[2]=='N' && data[3]=='G') return true;
-        // GIF
-        if (data[0]=='G' && data[1]=='I' && data[2]=='F') return true;
-        // WEBP
-        if (data[0]=='R' && data[1]=='I' && data[2]=='F' && data[3]=='F'
-                && data[8]=='W' && data[9]=='E' && data[10]=='B' && data[11]=='P') return true;
-        return false;
-    }
-
-    private String sniffContentType(byte[] data, String fallback) {
-        if (data != null && data.length >= 12) {
-            if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8) return "image/jpeg";
-            if (data[0]==(byte)0x89 && data[1]=='P' && data[2]=='N' && data[3]=='G') return "image/png";
-            if (data[0]=='G' && data[1]=='I' && data[2]=='F') return "image/gif";
-            if (data[0]=='R' && data[1]=='I' && data[2]=='F' && data[3]=='F'
-                    && data[8]=='W' && data[9]=='E' && data[10]=='B' && data[11]=='P') return "image/webp";
-        }
-        return (fallback != null) ? fallback : "application/octet-stream";
-    }
-
-    private String inferBrand(String urlOrPayload) {
-        String s = urlOrPayload.toLowerCase(Locale.ROOT);
-        if (s.contains("life4cut") || s.contains("인생네컷")) return "인생네컷";
-        if (s.contains("harufilm") || s.contains("하루필름")) return "하루필름";
-        if (s.contains("photoism")) return "포토이즘";
-        if (s.contains("signature")) return "포토시그니쳐";
-        if (s.contains("twin")) return "트윈포토";
-        return "기타";
-    }
-
-    private static class HtmlExtracted {
-        String imageUrl;
-        String thumbnailUrl;
-        String videoUrl;
-        String nextGetUrl;
-    }
-
-    private static class AssetPair {
-        final String imageUrl, thumbnailUrl, videoUrl;
-        final LocalDateTime takenAt;
-        AssetPair(String i, String t, String v, LocalDateTime ta) {
-            this.imageUrl = i;
-            this.thumbnailUrl = t;
-            this.videoUrl = v;
-            this.takenAt = ta;
-        }
-    }
 }
@@ -3,10 +3,35 @@ package com.nemo.backend.domain.photo.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 public interface PhotoStorage {
     /** 순수 multipart 파일을 저장하고 키(경로)를 반환 */
     String store(MultipartFile file) throws Exception;
 
     /** URL 크롤링 등으로 확보한 바이트를 직접 저장하고 키(경로)를 반환 */
     String storeBytes(byte[] data, String originalFilename, String contentType) throws Exception;
+
+    /**
+     * 원격 다운로드 스트림을 통째로 메모리에 올리지 않고 저장하고 키(경로)를 반환.
+     * sizeHint 는 Content-Length 등 예상 크기 (모르면 -1): 알면 파트로 나누지 않고 한 번에 올리고,
+     * 저장 상한을 넘으면 바로 거절한다. 스트림은 호출 측에서 닫는다.
+     */
+    String storeStream(InputStream in, long sizeHint, String originalFilename, String contentType) throws Exception;
+
+    /** 저장된 객체를 스트림으로 연다 (썸네일 생성 등 후처리용). 스트림은 호출 측에서 닫는다 */
+    InputStream load(String key) throws Exception;
+
+    /** 파생 파일(썸네일 등)을 지정한 키에 저장 */
+    void storeAt(String key, byte[] data, String contentType) throws Exception;
+
+    /** storeAt 의 비동기 버전. 업로드 응답을 기다리는 동안 호출 스레드를 잡지 않는다 */
+    CompletableFuture<Void> storeAtAsync(String key, byte[] data, String contentType);
+
+    /**
+     * 저장 객체 참조 해제 (영구 삭제 시). 내용 주소 모드에서 여러 사진이 공유하는 객체는
+     * 마지막 참조가 풀릴 때만 실제로 지워진다.
+     */
+    void release(String key);
 }
@@ -0,0 +1,7 @@
+package com.nemo.backend.domain.photo.service;
+
+/**
+ * 사진 레코드가 저장됨 (커밋 후 썸네일 생성 트리거용).
+ * imageUrl 은 우리 /files/ 공개 URL 이어야 축소본을 만든다.
+ */
+public record PhotoStoredEvent(Long photoId, String imageUrl) {}
@@ -0,0 +1,17 @@
+package com.nemo.backend.domain.photo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * QR 크롤링 결과 (스토리지 저장 후 공개 URL 기준).
+ * videoUrl 은 저장만 해두고 현재 명세상 엔티티/응답에는 노출하지 않는다.
+ * sourceUrl 은 최종적으로 받아온 벤더 자산 URL, imageKey 는 스토리지에 저장된 키.
+ */
+public record QrAsset(
+        String imageUrl,
+        String thumbnailUrl,
+        String videoUrl,
+        LocalDateTime takenAt,
+        String sourceUrl,
+        String imageKey
+) {}
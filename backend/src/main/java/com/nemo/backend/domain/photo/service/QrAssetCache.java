@@ -0,0 +1,73 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * qrHash → 크롤링 결과(QrAsset) 단기 캐시.
+ * - 같은 QR 재시도 / 임시 등록 후 확정 업로드 시 벤더를 다시 크롤링하지 않는다.
+ * - 동시에 같은 QR 이 들어오면 먼저 온 요청만 크롤링하고 나머지는 그 결과를 기다린다.
+ * - 실패한 결과는 캐시에 남기지 않는다. (다음 요청이 다시 시도)
+ */
+@Slf4j
+@Component
+public class QrAssetCache {
+
+    private final AsyncCache<String, QrAsset> cache;
+
+    public QrAssetCache(@Value("${app.qr-import.cache.max-size:1000}") long maxSize,
+                        @Value("${app.qr-import.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .buildAsync();
+    }
+
+    /** 캐시에 있으면 그대로, 진행 중인 크롤링이 있으면 합류, 없으면 현재 스레드에서 loader 실행 */
+    public QrAsset getOrFetch(String qrHash, Supplier<QrAsset> loader) {
+        CompletableFuture<QrAsset> mine = new CompletableFuture<>();
+        CompletableFuture<QrAsset> existing = cache.asMap().putIfAbsent(qrHash, mine);
+
+        if (existing != null) {
+            log.info("[QR][cache] hit/join qrHash={}", qrHash);
+            return join(existing);
+        }
+
+        try {
+            mine.complete(loader.get());
+        } catch (RuntimeException e) {
+            // 실패한 future 는 Caffeine 이 자동으로 제거한다
+            mine.completeExceptionally(e);
+        }
+        return join(mine);
+    }
+
+    public void invalidate(String qrHash) {
+        cache.synchronous().invalidate(qrHash);
+    }
+
+    private static QrAsset join(CompletableFuture<QrAsset> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("QR 자산 조회 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
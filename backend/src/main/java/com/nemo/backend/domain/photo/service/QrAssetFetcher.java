@@ -0,0 +1,473 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.resolver.HtmlAssetExtractor;
+import com.nemo.backend.domain.photo.resolver.QrResolver;
+import com.nemo.backend.domain.photo.resolver.QrResolverRegistry;
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.*;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.nemo.backend.domain.photo.service.S3PhotoStorage.StorageException;
+
+/**
+ * QR 페이로드(URL)를 따라가며 원본 이미지/영상을 찾아 스토리지에 저장하는 크롤러.
+ * - HTTP 는 공유 HttpClient(qrHttpClient) 사용: keep-alive 커넥션 풀 + HTTP/2 협상으로
+ *   같은 벤더 호스트로의 반복 요청은 TLS 핸드셰이크를 재사용한다.
+ * - 쿠키는 크롤 1회 단위 저장소(CrawlSession)에만 보관한다. (JVM 전역 CookieHandler 미사용)
+ * - 벤더별 URL/HTML 해석은 QrResolverRegistry 가 호스트로 고른 QrResolver 에 위임한다.
+ * - HttpRequest.timeout 은 헤더까지만 보므로 바디는 DeadlineInputStream 이 읽기마다 READ_TIMEOUT_MS,
+ *   전체 TRANSFER_TIMEOUT_MS 로 감시한다 (느리게 보내는 벤더가 가져오기 작업 스레드를 붙잡지 못하게).
+ */
+@Slf4j
+@Component
+public class QrAssetFetcher {
+
+    private static final int READ_TIMEOUT_MS    = 10000;
+    private static final long TRANSFER_TIMEOUT_MS = 120_000;
+    private static final int MAX_REDIRECTS      = 5;
+    private static final int MAX_HTML_FOLLOW    = 2;
+    private static final long MAX_BYTES         = 50L * 1024 * 1024;
+    private static final String USER_AGENT      = "Mozilla/5.0 Nemo/1.0";
+    private static final int MIN_IMAGE_BYTES    = 5 * 1024;
+    private static final int MAX_DISCARD_BYTES  = 64 * 1024;
+
+    private static final Pattern CD_FILENAME_EXT = Pattern.compile("filename\\*=UTF-8''([^;]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CD_FILENAME     = Pattern.compile("filename=\"?([^\";]+)\"?", Pattern.CASE_INSENSITIVE);
+
+    private final HttpClient httpClient;
+    private final PhotoStorage storage;
+    private final QrResolverRegistry resolverRegistry;
+    private final String publicBaseUrl;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "qr-body-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public QrAssetFetcher(@Qualifier("qrHttpClient") HttpClient httpClient,
+                          PhotoStorage storage,
+                          QrResolverRegistry resolverRegistry,
+                          @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl) {
+        this.httpClient = httpClient;
+        this.storage = storage;
+        this.resolverRegistry = resolverRegistry;
+        this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private String toPublicUrl(String key) {
+        return String.format("%s/files/%s", publicBaseUrl, key);
+    }
+
+    public QrAsset fetch(String startUrl) {
+        try {
+            log.info("[QR][fetch] startUrl={}", startUrl);
+            CrawlSession session = new CrawlSession(startUrl);
+
+            LinkedHashSet<String> visited = new LinkedHashSet<>();
+            String current = startUrl;
+            int htmlFollow = 0;
+            String foundImage = null, foundVideo = null, foundThumb = null;
+            String sourceUrl = null, imageKey = null;
+
+            for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+                String norm = normalizeUrl(current);
+                if (!visited.add(norm)) {
+                    throw new IOException("Redirect loop: " + current);
+                }
+
+                log.info("[QR][fetch] step={}, current={}", redirects, current);
+
+                URL url = new URL(current);
+                QrResolver resolver = resolverRegistry.forUrl(url);
+
+                // 알려진 벤더는 URL 만으로 원본 위치를 알 수 있으면 요청 없이 바로 점프
+                String direct = resolver.resolveDirect(url);
+                if (direct != null && !HtmlAssetExtractor.isSamePage(direct, current)) {
+                    log.info("[QR][{}][directJump] {} -> {}", resolver.brand(), current, direct);
+                    current = direct;
+                    continue;
+                }
+
+                HttpResponse<InputStream> resp = send(session, current);
+                try {
+                    int code = resp.statusCode();
+
+                    if (code / 100 == 3) {
+                        String location = resp.headers().firstValue("Location").orElse(null);
+                        if (location == null || location.isBlank()) {
+                            throw new IOException("Redirect without Location");
+                        }
+                        current = new URL(url, location).toString();
+                        continue;
+                    }
+
+                    if (code < 200 || code >= 300) {
+                        throw new IOException("HTTP " + code + " from " + current);
+                    }
+
+                    String contentType = safeLower(resp.headers().firstValue("Content-Type").orElse(null));
+                    String cd = resp.headers().firstValue("Content-Disposition").orElse(null);
+                    boolean isAttachment = cd != null && cd.toLowerCase(Locale.ROOT).contains("attachment");
+
+                    if ((contentType != null &&
+                            (contentType.startsWith("image/") || contentType.startsWith("video/")))
+                            || isAttachment) {
+
+                        try (InputStream in = boundedStream(resp)) {
+                            String ct = (contentType != null) ? contentType : "application/octet-stream";
+                            long sizeHint = contentLength(resp);
+
+                            // 검증용으로 앞부분만 먼저 읽고, 나머지는 그대로 스토리지로 흘려보낸다 (전체를 힙에 올리지 않음)
+                            byte[] head = in.readNBytes(MIN_IMAGE_BYTES);
+                            InputStream body = new SequenceInputStream(new ByteArrayInputStream(head), in);
+
+                            if (ct.startsWith("image/")) {
+                                ensureValidImageBytes(head);
+                                ct = sniffContentType(head, ct);
+                                String key = storage.storeStream(
+                                        body,
+                                        sizeHint,
+                                        filenameFromHeadersOrUrl(url, cd, ct),
+                                        ct
+                                );
+                                String publicUrl = toPublicUrl(key);
+                                if (foundImage == null) {
+                                    foundImage = publicUrl;
+                                    imageKey = key;
+                                    sourceUrl = current;
+                                }
+                                if (foundThumb == null)  foundThumb  = publicUrl;
+                            } else if (ct.startsWith("video/")) {
+                                // 영상도 받아서 스토리지에 저장해 두지만,
+                                // 현재 명세상 API/엔티티에는 videoUrl을 노출하거나 저장하지 않는다.
+                                String key = storage.storeStream(
+                                        body,
+                                        sizeHint,
+                                        filenameFromHeadersOrUrl(url, cd, ct),
+                                        ct
+                                );
+                                String publicUrl = toPublicUrl(key);
+                                if (foundVideo == null) foundVideo = publicUrl;
+                                if (sourceUrl == null) sourceUrl = current;
+                            }
+                        } catch (Exception e) {
+                            throw new StorageException("파일 저장 실패", e);
+                        }
+
+                        break;
+                    }
+
+                    if (contentType != null && contentType.startsWith("text/html")) {
+                        if (htmlFollow >= MAX_HTML_FOLLOW) break;
+
+                        String html = readAll(boundedStream(resp));
+                        String next = resolver.extractFromHtml(html, current);
+
+                        if (next != null) {
+                            current = new URL(url, next).toString();
+                            htmlFollow++;
+                            continue;
+                        }
+                        break;
+                    }
+
+                    // JSON/텍스트 응답 (예: 인생네컷 webQrJson) 은 벤더 규칙으로만 해석
+                    if (contentType != null
+                            && (contentType.startsWith("application/json") || contentType.startsWith("text/plain"))) {
+                        if (htmlFollow >= MAX_HTML_FOLLOW) break;
+
+                        String next = resolver.extractFromText(readAll(boundedStream(resp)));
+                        if (next != null && !HtmlAssetExtractor.isSamePage(next, current)) {
+                            current = new URL(url, next).toString();
+                            htmlFollow++;
+                            continue;
+                        }
+                        break;
+                    }
+
+                    break;
+                } finally {
+                    discard(resp);
+                }
+            }
+
+            if (foundImage == null && foundVideo == null) {
+                throw new IOException("이미지/영상 URL을 찾지 못했습니다.");
+            }
+            if (foundThumb == null) foundThumb = foundImage;
+
+            return new QrAsset(foundImage, foundThumb, foundVideo, null, sourceUrl, imageKey);
+        } catch (StorageException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.UPSTREAM_FAILED, "원격 자산 추출이 중단되었습니다.", e);
+        } catch (Exception e) {
+            throw new ApiException(ErrorCode.UPSTREAM_FAILED,
+                    "원격 자산 추출 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // ===================== HTTP 유틸 =====================
+
+    /** 크롤 1회 동안만 유지되는 상태 (쿠키 저장소 + Referer) */
+    private static class CrawlSession {
+        final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        final String referer;
+
+        CrawlSession(String referer) {
+            this.referer = referer;
+        }
+    }
+
+    private HttpResponse<InputStream> send(CrawlSession session, String url) throws IOException, InterruptedException {
+        URI uri = toUri(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(READ_TIMEOUT_MS))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "image/jpeg,image/png,image/webp;q=0.9,text/html;q=0.8,*/*;q=0.5")
+                .header("Accept-Language", "ko,en;q=0.8")
+                .GET();
+        if (session.referer != null) builder.header("Referer", session.referer);
+
+        // 세션 쿠키 → Cookie 헤더
+        for (Map.Entry<String, List<String>> e : session.cookies.get(uri, Map.of()).entrySet()) {
+            if (!e.getValue().isEmpty()) {
+                builder.header(e.getKey(), String.join("; ", e.getValue()));
+            }
+        }
+
+        HttpResponse<InputStream> resp = httpClient.send(builder.build(),
+                info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(), DeadlineInputStream::new));
+        session.cookies.put(uri, resp.headers().map());
+        return resp;
+    }
+
+    /** 남은 바디를 조금 읽어 버리고 닫는다 → 커넥션이 풀로 돌아가 재사용될 수 있도록 */
+    private static void discard(HttpResponse<InputStream> resp) {
+        try (InputStream in = resp.body()) {
+            in.readNBytes(MAX_DISCARD_BYTES);
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static long contentLength(HttpResponse<?> resp) {
+        return resp.headers().firstValueAsLong("Content-Length").orElse(-1L);
+    }
+
+    /** 벤더 URL 에 인코딩 안 된 문자가 섞여 있어도 요청할 수 있도록 보정 */
+    private static URI toUri(String url) throws IOException {
+        try {
+            return URI.create(url);
+        } catch (IllegalArgumentException e) {
+            try {
+                URL u = new URL(url);
+                return new URI(u.getProtocol(), u.getUserInfo(), u.getHost(), u.getPort(), u.getPath(), u.getQuery(), u.getRef());
+            } catch (URISyntaxException use) {
+                throw new IOException("Invalid URL: " + url, use);
+            }
+        }
+    }
+
+    // ===================== 기타 유틸 =====================
+
+    private String filenameFromHeadersOrUrl(URL base, String cdHeader, String contentType) {
+        return filenameFromHeadersOrUrl(base, cdHeader, contentType, true);
+    }
+
+    private String filenameFromHeadersOrUrl(URL base, String cdHeader, String contentType, boolean addExtIfMissing) {
+        if (cdHeader != null) {
+            Matcher m1 = CD_FILENAME_EXT.matcher(cdHeader);
+            if (m1.find()) return decodeRFC5987(m1.group(1));
+            Matcher m2 = CD_FILENAME.matcher(cdHeader);
+            if (m2.find()) return m2.group(1);
+        }
+        String path = base.getPath();
+        String last = (path == null || path.isBlank()) ? "file" : path.substring(path.lastIndexOf('/') + 1);
+        if (last.isBlank()) last = "file";
+        if (addExtIfMissing) {
+            String low = last.toLowerCase(Locale.ROOT);
+            if (!low.contains(".")) {
+                if (contentType != null) {
+                    if (contentType.contains("jpeg") || contentType.contains("jpg"))      last += ".jpg";
+                    else if (contentType.contains("png"))                                last += ".png";
+                    else if (contentType.contains("webp"))                               last += ".webp";
+                    else if (contentType.contains("mp4"))                                last += ".mp4";
+                }
+            }
+        }
+        return last;
+    }
+
+    private String decodeRFC5987(String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return s;
+        }
+    }
+
+    private String normalizeUrl(String u) {
+        try {
+            URI uri = new URI(u);
+            String scheme = (uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT));
+            String host = (uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT));
+            int port = uri.getPort();
+            String path = (uri.getPath() == null || uri.getPath().isEmpty()) ? "/" : uri.getPath();
+            String query = uri.getQuery();
+            StringBuilder sb = new StringBuilder();
+            sb.append(scheme).append("://").append(host);
+            if (port != -1 && port != uri.toURL().getDefaultPort()) sb.append(":").append(port);
+            sb.append(path);
+            if (query != null) sb.append("?").append(query);
+            return sb.toString();
+        } catch (Exception e) {
+            return u;
+        }
+    }
+
+    private String safeLower(String s) {
+        return (s == null) ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    private InputStream boundedStream(HttpResponse<InputStream> resp) throws IOException {
+        long len = contentLength(resp);
+        if (len > 0 && len > MAX_BYTES) throw new IOException("File too large: " + len);
+        return new LimitedInputStream(resp.body(), MAX_BYTES);
+    }
+
+    private static class LimitedInputStream extends java.io.FilterInputStream {
+        private long remaining;
+        protected LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.remaining = maxBytes;
+        }
+        @Override public int read() throws IOException {
+            if (remaining <= 0) throw new IOException("Limit exceeded");
+            int b = super.read();
+            if (b != -1) remaining--;
+            return b;
+        }
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) throw new IOException("Limit exceeded");
+            len = (int) Math.min(len, remaining);
+            int n = super.read(b, off, len);
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
+
+    /**
+     * 읽기 한 번이 READ_TIMEOUT_MS 를 넘기거나 헤더 수신 후 TRANSFER_TIMEOUT_MS 가 지나면 바디를 닫는다.
+     * 닫힌 스트림은 EOF 처럼 보일 수 있어 만료 여부를 따로 보고 예외로 바꾼다 (잘린 파일이 저장되지 않게).
+     */
+    private final class DeadlineInputStream extends FilterInputStream {
+        private final long deadlineNanos = System.nanoTime() + TRANSFER_TIMEOUT_MS * 1_000_000L;
+        private volatile boolean expired;
+
+        DeadlineInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n <= 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            long left = deadlineNanos - System.nanoTime();
+            if (left <= 0) throw new IOException("Body transfer timed out");
+            ScheduledFuture<?> timer = watchdog.schedule(this::expire,
+                    Math.min(READ_TIMEOUT_MS * 1_000_000L, left), TimeUnit.NANOSECONDS);
+            try {
+                int n = super.read(b, off, len);
+                if (expired) throw new IOException("Body read timed out");
+                return n;
+            } catch (IOException e) {
+                if (expired) throw new IOException("Body read timed out", e);
+                throw e;
+            } finally {
+                timer.cancel(false);
+            }
+        }
+
+        @Override public long skip(long n) throws IOException {
+            return readNBytes((int) Math.min(n, MAX_DISCARD_BYTES)).length;
+        }
+
+        private void expire() {
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    private String readAll(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /** data 는 전체 바이트 또는 앞부분(MIN_IMAGE_BYTES 까지)만 읽은 헤더 */
+    private void ensureValidImageBytes(byte[] data) throws IOException {
+        if (data == null || data.length < MIN_IMAGE_BYTES) throw new IOException("Image too small");
+        if (!looksLikeImage(data)) throw new IOException("Not an image content");
+    }
+
+    private static boolean looksLikeImage(byte[] data) {
+        if (data == null || data.length < 12) return false;
+        // JPEG
+        if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) return true;
+        // PNG
+        if ((data[0] & 0xFF) == 0x89 && data[1]=='P' && data[2]=='N' && data[3]=='G') return true;
+        // GIF
+        if (data[0]=='G' && data[1]=='I' && data[2]=='F') return true;
+        // WEBP
+        if (data[0]=='R' && data[1]=='I' && data[2]=='F' && data[3]=='F'
+                && data[8]=='W' && data[9]=='E' && data[10]=='B' && data[11]=='P') return true;
+        return false;
+    }
+
+    private String sniffContentType(byte[] data, String fallback) {
+        if (data != null && data.length >= 12) {
+            if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8) return "image/jpeg";
+            if (data[0]==(byte)0x89 && data[1]=='P' && data[2]=='N' && data[3]=='G') return "image/png";
+            if (data[0]=='G' && data[1]=='I' && data[2]=='F') return "image/gif";
+            if (data[0]=='R' && data[1]=='I' && data[2]=='F' && data[3]=='F'
+                    && data[8]=='W' && data[9]=='E' && data[10]=='B' && data[11]=='P') return "image/webp";
+        }
+        return (fallback != null) ? fallback : "application/octet-stream";
+    }
+}
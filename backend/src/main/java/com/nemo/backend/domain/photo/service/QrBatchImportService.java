@@ -0,0 +1,250 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
+import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.PhotoTombstoneRepository;
+import com.nemo.backend.domain.photo.resolver.QrResolverRegistry;
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 여러 QR 을 한 번에 가져오는 일괄 처리.
+ * - 항목별 크롤링/저장은 가상 스레드에서 동시에 수행 (전체 지연 ≈ 가장 느린 항목)
+ * - 항목마다 단건 업로드와 같은 QrUploadSingleFlight(+DB 선점)를 거쳐, 동시에 들어온 같은 QR 과 겹치지 않는다
+ * - 같은 벤더 호스트로의 동시 요청 수는 호스트별 세마포어로 제한
+ * - 항목별 트랜잭션으로 저장, 실패 항목은 사유와 함께 돌려준다 (부분 성공)
+ */
+@Slf4j
+@Service
+public class QrBatchImportService {
+
+    private final PhotoRepository photoRepository;
+    private final PhotoTombstoneRepository photoTombstoneRepository;
+    private final QrAssetFetcher qrAssetFetcher;
+    private final QrAssetCache qrAssetCache;
+    private final QrResolverRegistry resolverRegistry;
+    private final QrUploadSingleFlight qrUploadSingleFlight;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate txPerItem;
+    private final int maxItems;
+    private final int perHostConcurrency;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // 벤더 호스트 -> 동시 요청 제한. 쓰는 항목(보유+대기)이 없어지면 바로 제거되므로 크기는 진행 중인 호스트 수로 묶인다
+    private final Map<String, HostLimit> hostPermits = new ConcurrentHashMap<>();
+
+    private static final class HostLimit {
+        final Semaphore permits;
+        int users; // compute 안에서만 변경
+
+        HostLimit(int permits) {
+            this.permits = new Semaphore(permits);
+        }
+    }
+
+    public QrBatchImportService(PhotoRepository photoRepository,
+                                PhotoTombstoneRepository photoTombstoneRepository,
+                                QrAssetFetcher qrAssetFetcher,
+                                QrAssetCache qrAssetCache,
+                                QrResolverRegistry resolverRegistry,
+                                QrUploadSingleFlight qrUploadSingleFlight,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.qr-import.batch.max-items:10}") int maxItems,
+                                @Value("${app.qr-import.batch.per-host-concurrency:4}") int perHostConcurrency) {
+        this.photoRepository = photoRepository;
+        this.photoTombstoneRepository = photoTombstoneRepository;
+        this.qrAssetFetcher = qrAssetFetcher;
+        this.qrAssetCache = qrAssetCache;
+        this.resolverRegistry = resolverRegistry;
+        this.qrUploadSingleFlight = qrUploadSingleFlight;
+        this.eventPublisher = eventPublisher;
+        this.txPerItem = new TransactionTemplate(transactionManager);
+        this.txPerItem.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxItems = maxItems;
+        this.perHostConcurrency = perHostConcurrency;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public List<QrBatchItemResult> importAll(Long userId, List<String> qrCodes) {
+        if (qrCodes == null || qrCodes.isEmpty()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "qrCodes는 1개 이상이어야 합니다.");
+        }
+        if (qrCodes.size() > maxItems) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "qrCodes는 최대 " + maxItems + "개까지 가능합니다.");
+        }
+
+        int n = qrCodes.size();
+        QrBatchItemResult[] results = new QrBatchItemResult[n];
+        String[] hashes = new String[n];
+
+        // 1) 입력 검증 + 배치 내 중복 + 이미 업로드된 QR (한 번의 IN 조회)
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            String qr = qrCodes.get(i);
+            if (qr == null || qr.isBlank()) {
+                results[i] = QrBatchItemResult.failed(i, qr, ErrorCode.INVALID_ARGUMENT.getCode(), "qrCode가 비어 있습니다.");
+                continue;
+            }
+            if (!PhotoServiceImpl.looksLikeUrl(qr)) {
+                results[i] = QrBatchItemResult.failed(i, qr, ErrorCode.INVALID_QR.getCode(), "지원하지 않는 QR/URL 포맷입니다.");
+                continue;
+            }
+            hashes[i] = PhotoServiceImpl.sha256Hex(qr);
+            if (!seen.add(hashes[i])) {
+                results[i] = QrBatchItemResult.failed(i, qr, ErrorCode.CONFLICT.getCode(), "같은 요청에 중복된 QR입니다.");
+                hashes[i] = null;
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        if (!seen.isEmpty()) {
+            for (Photo p : photoRepository.findByQrHashIn(seen)) existing.add(p.getQrHash());
+            existing.addAll(photoTombstoneRepository.findQrHashesIn(seen));
+        }
+
+        // 2) 항목별 크롤링/저장 병렬 실행 (단건 업로드와 같은 single-flight/선점 경로)
+        List<Future<PhotoResponseDto>> futures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (hashes[i] == null) {
+                futures.add(null);
+                continue;
+            }
+            if (existing.contains(hashes[i])) {
+                results[i] = QrBatchItemResult.failed(i, qrCodes.get(i), ErrorCode.CONFLICT.getCode(), "이미 업로드된 QR입니다.");
+                futures.add(null);
+                continue;
+            }
+            String qr = qrCodes.get(i);
+            String hash = hashes[i];
+            futures.add(executor.submit(() -> importOne(userId, qr, hash)));
+        }
+
+        int stored = 0;
+        for (int i = 0; i < n; i++) {
+            Future<PhotoResponseDto> f = futures.get(i);
+            if (f == null) continue;
+            String qr = qrCodes.get(i);
+            try {
+                results[i] = QrBatchItemResult.stored(i, qr, f.get());
+                stored++;
+            } catch (ExecutionException e) {
+                results[i] = toFailure(i, qr, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiException(ErrorCode.INTERNAL_ERROR, "QR 일괄 가져오기가 중단되었습니다.");
+            }
+        }
+
+        log.info("[QR][batch] userId={}, total={}, stored={}", userId, n, stored);
+        return List.of(results);
+    }
+
+    /**
+     * 항목 하나: single-flight 안에서 크롤링 → 자체 트랜잭션으로 저장.
+     * 저장 트랜잭션이 커밋된 뒤에 flight 가 풀리므로, 같은 QR 을 기다리던 단건 업로드는 커밋된 행을 본다.
+     */
+    private PhotoResponseDto importOne(Long userId, String qr, String qrHash) {
+        return qrUploadSingleFlight.run(qrHash, userId, () -> {
+            // 대기하는 동안 다른 요청이 저장했을 수 있으니 다시 확인
+            if (photoRepository.findByQrHash(qrHash).isPresent() || photoTombstoneRepository.existsById(qrHash)) {
+                throw new ApiException(ErrorCode.CONFLICT, "이미 업로드된 QR입니다.");
+            }
+            QrAsset asset = fetchLimited(qrHash, qr);
+            Photo photo = newPhoto(userId, qr, qrHash, asset);
+            return txPerItem.execute(status -> {
+                Photo row = photoRepository.save(photo);
+                eventPublisher.publishEvent(new PhotoStoredEvent(row.getId(), row.getImageUrl()));
+                return new PhotoResponseDto(row);
+            });
+        });
+    }
+
+    private QrAsset fetchLimited(String qrHash, String qrUrl) {
+        String host = hostOf(qrUrl);
+        HostLimit limit = hostPermits.compute(host, (h, cur) -> {
+            HostLimit l = (cur != null) ? cur : new HostLimit(perHostConcurrency);
+            l.users++;
+            return l;
+        });
+        try {
+            limit.permits.acquire();
+            try {
+                return qrAssetCache.getOrFetch(qrHash, () -> qrAssetFetcher.fetch(qrUrl));
+            } finally {
+                limit.permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.INTERNAL_ERROR, "QR 일괄 가져오기가 중단되었습니다.");
+        } finally {
+            // 허가를 쥐었거나 기다리는 항목이 없을 때만 제거
+            hostPermits.computeIfPresent(host, (h, cur) -> (--cur.users == 0) ? null : cur);
+        }
+    }
+
+    private Photo newPhoto(Long userId, String qr, String qrHash, QrAsset asset) {
+        LocalDateTime takenAt = (asset.takenAt() != null) ? asset.takenAt() : LocalDateTime.now();
+        return new Photo(
+                userId,
+                null,
+                asset.imageUrl(),
+                asset.thumbnailUrl() != null ? asset.thumbnailUrl() : asset.imageUrl(),
+                qrHash,
+                resolverRegistry.inferBrand(qr),
+                takenAt,
+                null
+        );
+    }
+
+    private static QrBatchItemResult toFailure(int index, String qr, Throwable cause) {
+        if (cause instanceof ApiException ae) {
+            return QrBatchItemResult.failed(index, qr, ae.getErrorCode().getCode(), ae.getMessage());
+        }
+        if (cause instanceof DataIntegrityViolationException) {
+            return QrBatchItemResult.failed(index, qr, ErrorCode.CONFLICT.getCode(), "이미 업로드된 QR입니다.");
+        }
+        if (cause instanceof S3PhotoStorage.StorageException) {
+            return QrBatchItemResult.failed(index, qr, ErrorCode.STORAGE_FAILED.getCode(), "파일 저장 실패");
+        }
+        log.warn("[QR][batch] unexpected error index={}: {}", index, String.valueOf(cause));
+        return QrBatchItemResult.failed(index, qr, ErrorCode.INTERNAL_ERROR.getCode(), ErrorCode.INTERNAL_ERROR.getMessage());
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return (host == null) ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
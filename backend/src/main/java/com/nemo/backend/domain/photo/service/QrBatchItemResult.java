@@ -0,0 +1,27 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
+
+/**
+ * QR 일괄 가져오기 항목별 결과.
+ * 성공이면 photo 가 채워지고, 실패면 errorCode / message 가 채워진다.
+ */
+public record QrBatchItemResult(
+        int index,
+        String qrCode,
+        PhotoResponseDto photo,
+        String errorCode,
+        String message
+) {
+    static QrBatchItemResult stored(int index, String qrCode, PhotoResponseDto photo) {
+        return new QrBatchItemResult(index, qrCode, photo, null, null);
+    }
+
+    static QrBatchItemResult failed(int index, String qrCode, String errorCode, String message) {
+        return new QrBatchItemResult(index, qrCode, null, errorCode, message);
+    }
+
+    public boolean isStored() {
+        return photo != null;
+    }
+}
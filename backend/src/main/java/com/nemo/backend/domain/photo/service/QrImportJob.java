@@ -0,0 +1,48 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * QR 비동기 가져오기 작업 1건 (메모리 보관용).
+ * 워커 스레드가 상태를 갱신하고 요청 스레드가 조회하므로 가변 필드는 volatile.
+ */
+@Getter
+public class QrImportJob {
+
+    private final String jobId;
+    private final Long userId;
+    private final String qrCode;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile QrImportJobStatus status = QrImportJobStatus.PENDING;
+    private volatile PhotoResponseDto photo;
+    private volatile String errorCode;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    QrImportJob(String jobId, Long userId, String qrCode) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.qrCode = qrCode;
+    }
+
+    void markFetching() {
+        this.status = QrImportJobStatus.FETCHING;
+    }
+
+    void markStored(PhotoResponseDto photo) {
+        this.photo = photo;
+        this.finishedAt = LocalDateTime.now();
+        this.status = QrImportJobStatus.STORED;
+    }
+
+    void markFailed(String errorCode, String message) {
+        this.errorCode = errorCode;
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = QrImportJobStatus.FAILED;
+    }
+}
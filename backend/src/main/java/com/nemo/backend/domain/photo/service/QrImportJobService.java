@@ -0,0 +1,99 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * QR 가져오기를 요청 스레드에서 떼어내 전용 실행기에서 돌리는 작업 관리자.
+ * - submit: 작업 등록 후 즉시 jobId 반환 (요청 스레드는 벤더 응답 속도와 무관)
+ * - get: 상태 폴링 (PENDING → FETCHING → STORED / FAILED)
+ * 작업 정보는 메모리에만 보관하고, 끝난 작업은 TTL 이 지나면 정리한다.
+ */
+@Slf4j
+@Service
+public class QrImportJobService {
+
+    private final PhotoService photoService;
+    private final TaskExecutor executor;
+    private final Duration finishedJobTtl;
+
+    // jobId -> 작업
+    private final Map<String, QrImportJob> jobs = new ConcurrentHashMap<>();
+
+    public QrImportJobService(PhotoService photoService,
+                              @Qualifier("qrImportExecutor") TaskExecutor executor,
+                              @Value("${app.qr-import.job-ttl-minutes:30}") long finishedJobTtlMinutes) {
+        this.photoService = photoService;
+        this.executor = executor;
+        this.finishedJobTtl = Duration.ofMinutes(finishedJobTtlMinutes);
+    }
+
+    /** 작업 등록. 실행기 큐가 가득 차 있으면 429 */
+    public QrImportJob submit(Long userId, String qrCode) {
+        purgeFinished();
+
+        QrImportJob job = new QrImportJob(UUID.randomUUID().toString(), userId, qrCode);
+        jobs.put(job.getJobId(), job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new ApiException(ErrorCode.RATE_LIMITED, "QR 가져오기 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        log.info("[QR][job] submitted jobId={}, userId={}", job.getJobId(), userId);
+        return job;
+    }
+
+    /** 본인 작업만 조회 가능 */
+    public QrImportJob get(Long userId, String jobId) {
+        QrImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ApiException(ErrorCode.NOT_FOUND, "존재하지 않거나 만료된 작업입니다.");
+        }
+        if (!job.getUserId().equals(userId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "해당 작업에 접근할 권한이 없습니다.");
+        }
+        return job;
+    }
+
+    private void run(QrImportJob job) {
+        job.markFetching();
+        try {
+            PhotoResponseDto dto = photoService.uploadHybrid(
+                    job.getUserId(),
+                    job.getQrCode(),
+                    null, null, null, null, null, null, null
+            );
+            job.markStored(dto);
+            log.info("[QR][job] stored jobId={}, photoId={}", job.getJobId(), dto.getId());
+        } catch (ApiException e) {
+            job.markFailed(e.getErrorCode().getCode(), e.getMessage());
+            log.info("[QR][job] failed jobId={}, code={}, msg={}", job.getJobId(), e.getErrorCode().getCode(), e.getMessage());
+        } catch (Exception e) {
+            job.markFailed(ErrorCode.INTERNAL_ERROR.getCode(), ErrorCode.INTERNAL_ERROR.getMessage());
+            log.error("[QR][job] unexpected error jobId={}", job.getJobId(), e);
+        }
+    }
+
+    private void purgeFinished() {
+        LocalDateTime threshold = LocalDateTime.now().minus(finishedJobTtl);
+        jobs.values().removeIf(j -> j.getStatus().isFinished()
+                && j.getFinishedAt() != null
+                && j.getFinishedAt().isBefore(threshold));
+    }
+}
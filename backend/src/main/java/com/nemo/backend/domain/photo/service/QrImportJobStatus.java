@@ -0,0 +1,13 @@
+package com.nemo.backend.domain.photo.service;
+
+/** QR 비동기 가져오기 작업 상태 */
+public enum QrImportJobStatus {
+    PENDING,   // 큐 대기 중
+    FETCHING,  // 원격 자산 수집 + 검증 + 저장 진행 중
+    STORED,    // 사진 레코드 생성 완료
+    FAILED;    // 실패 (errorCode / message 참고)
+
+    public boolean isFinished() {
+        return this == STORED || this == FAILED;
+    }
+}
@@ -0,0 +1,52 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.repository.QrImportReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * DB 선점 행 기반 QR 업로드 예약 (인스턴스 간 중복 크롤링 방지).
+ * 업로드 트랜잭션과 무관하게 바로 커밋되어야 다른 인스턴스가 볼 수 있으므로 REQUIRES_NEW.
+ */
+@Slf4j
+@Service
+public class QrImportReservationService {
+
+    private final QrImportReservationRepository reservationRepository;
+    private final Duration lease;
+
+    public QrImportReservationService(QrImportReservationRepository reservationRepository,
+                                      @Value("${app.qr-import.single-flight.lease-seconds:120}") long leaseSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /** 리스가 지난 선점 행 정리 (선점한 인스턴스가 죽은 경우) */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void purgeStale(String qrHash) {
+        int stale = reservationRepository.deleteStale(qrHash, LocalDateTime.now().minus(lease));
+        if (stale > 0) {
+            log.warn("[QR][reservation] stale reservation removed qrHash={}", qrHash);
+        }
+    }
+
+    /**
+     * 선점 INSERT. 이미 다른 요청이 선점 중이면 DataIntegrityViolationException.
+     * (예외는 호출 측에서 잡는다: 여기서 잡으면 롤백 전용 트랜잭션을 커밋하려다 실패한다)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reserve(String qrHash, Long userId) {
+        reservationRepository.insert(qrHash, userId, LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String qrHash) {
+        reservationRepository.deleteById(qrHash);
+    }
+}
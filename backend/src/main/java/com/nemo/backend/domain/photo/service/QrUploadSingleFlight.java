@@ -0,0 +1,143 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 qrHash 업로드를 한 번에 하나만 실행시키는 single-flight.
+ * - 선행 요청(leader)만 크롤링/저장을 진행하고, 후행 요청은 leader 가 끝날 때까지 기다린다.
+ * - leader 가 커밋되면: 같은 사용자는 leader 결과를 그대로 받고, 다른 사용자는 409
+ * - leader 가 실패(롤백)하면: 기다리던 요청 중 하나가 새 leader 가 되어 다시 시도
+ * - 해제는 트랜잭션 완료(afterCompletion) 시점 → 후행 요청의 중복 조회가 커밋된 행을 본다
+ * app.qr-import.single-flight.db-reservation=true 이면 DB 선점 행으로 인스턴스 간에도 막는다.
+ */
+@Slf4j
+@Component
+public class QrUploadSingleFlight {
+
+    private final QrImportReservationService reservationService;
+    private final boolean dbReservation;
+    private final long waitSeconds;
+
+    // qrHash -> 진행 중인 업로드
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public QrUploadSingleFlight(QrImportReservationService reservationService,
+                                @Value("${app.qr-import.single-flight.db-reservation:false}") boolean dbReservation,
+                                @Value("${app.qr-import.single-flight.wait-seconds:60}") long waitSeconds) {
+        this.reservationService = reservationService;
+        this.dbReservation = dbReservation;
+        this.waitSeconds = waitSeconds;
+    }
+
+    private static final class Flight {
+        final Long userId;
+        final CompletableFuture<Object> committed = new CompletableFuture<>();
+        volatile Object result;
+
+        Flight(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T run(String qrHash, Long userId, Supplier<T> work) {
+        while (true) {
+            Flight mine = new Flight(userId);
+            Flight existing = flights.putIfAbsent(qrHash, mine);
+            if (existing == null) {
+                return lead(qrHash, mine, work);
+            }
+
+            log.info("[QR][singleFlight] waiting for in-flight upload qrHash={}", qrHash);
+            Object leaderResult = await(existing);
+            if (leaderResult == null) {
+                continue; // leader 실패 → 다시 leader 자리 경쟁
+            }
+            if (existing.userId.equals(userId)) {
+                return (T) leaderResult;
+            }
+            throw new ApiException(ErrorCode.CONFLICT, "이미 업로드된 QR입니다.");
+        }
+    }
+
+    private <T> T lead(String qrHash, Flight flight, Supplier<T> work) {
+        boolean reserved = false;
+        boolean released = false;
+        try {
+            if (dbReservation) {
+                reserved = reserveInDb(qrHash, flight.userId);
+            }
+            T result = work.get();
+            flight.result = result;
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                final boolean dbHeld = reserved;
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        release(qrHash, flight, status == STATUS_COMMITTED, dbHeld);
+                    }
+                });
+            } else {
+                release(qrHash, flight, true, reserved);
+            }
+            released = true;
+            return result;
+        } finally {
+            if (!released) {
+                release(qrHash, flight, false, reserved);
+            }
+        }
+    }
+
+    private boolean reserveInDb(String qrHash, Long userId) {
+        reservationService.purgeStale(qrHash);
+        try {
+            reservationService.reserve(qrHash, userId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            throw new ApiException(ErrorCode.CONFLICT, "같은 QR 업로드가 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void release(String qrHash, Flight flight, boolean committed, boolean dbHeld) {
+        flights.remove(qrHash, flight);
+        flight.committed.complete(committed ? flight.result : null);
+        if (dbHeld) {
+            try {
+                reservationService.release(qrHash);
+            } catch (Exception e) {
+                // 남은 행은 리스 만료 후 다른 요청이 정리한다
+                log.warn("[QR][reservation] release failed qrHash={}: {}", qrHash, e.toString());
+            }
+        }
+    }
+
+    private Object await(Flight flight) {
+        try {
+            return flight.committed.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiException(ErrorCode.CONFLICT, "같은 QR 업로드가 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.INTERNAL_ERROR, "QR 업로드 대기 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+}
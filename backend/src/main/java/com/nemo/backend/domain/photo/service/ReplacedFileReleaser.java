@@ -0,0 +1,88 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.album.repository.AlbumRepository;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 프로필 이미지 / 앨범 커버처럼 URL 하나를 갈아 끼울 때 이전 파일의 저장 참조를 푼다.
+ * - 그 행이 직접 업로드해서 참조를 하나 잡은 URL(owned)만 푼다
+ *   (사진을 골라 커버로 쓴 경우, URL 을 직접 넣은 경우는 참조를 잡지 않았으므로 건드리지 않는다)
+ * - /files/ 로 서빙하는 우리 객체가 아니면 무시
+ * - 커밋된 뒤에만 푼다 (롤백되면 이전 URL 이 그대로 남으므로)
+ * - 내용 주소 객체(blobs/..)는 같은 URL 을 쓰는 다른 행도 각자 참조를 들고 있으므로 URL 이 같아도 내 참조를 푼다.
+ *   참조 카운트가 없는 일반 객체는 다른 행이 빌려 쓰고 있으면 남긴다
+ */
+@Slf4j
+@Component
+public class ReplacedFileReleaser {
+
+    private static final String FILES_PATH = "/files/";
+    private static final String BLOB_PREFIX = "blobs/"; // S3PhotoStorage 내용 주소 키
+
+    private final PhotoStorage storage;
+    private final PhotoRepository photoRepository;
+    private final UserRepository userRepository;
+    private final AlbumRepository albumRepository;
+
+    public ReplacedFileReleaser(PhotoStorage storage,
+                                PhotoRepository photoRepository,
+                                UserRepository userRepository,
+                                AlbumRepository albumRepository) {
+        this.storage = storage;
+        this.photoRepository = photoRepository;
+        this.userRepository = userRepository;
+        this.albumRepository = albumRepository;
+    }
+
+    /**
+     * oldUrl 을 내려놓을 때 호출. oldOwned 가 false 면 아무 것도 하지 않는다.
+     * 같은 URL 을 새로 업로드한 경우(내용 주소 모드)에도 새 업로드가 참조를 따로 잡았으므로 이전 참조는 푼다
+     */
+    public void releaseAfterCommit(String oldUrl, boolean oldOwned) {
+        if (!oldOwned || oldUrl == null || oldUrl.isBlank()) return;
+        if (keyOf(oldUrl) == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) releaseOwned(oldUrl);
+                }
+            });
+        } else {
+            releaseOwned(oldUrl);
+        }
+    }
+
+    private void releaseOwned(String url) {
+        String key = keyOf(url);
+        try {
+            if (!key.startsWith(BLOB_PREFIX) && borrowedElsewhere(url)) {
+                return;
+            }
+            storage.release(key);
+        } catch (Exception e) {
+            // 일반 객체는 OrphanObjectSweeper 가 정리, 내용 주소 참조는 남는다 (객체가 안 지워지는 쪽으로만 어긋남)
+            log.warn("[FILES][release] replaced file release failed url={}: {}", url, e.toString());
+        }
+    }
+
+    private boolean borrowedElsewhere(String url) {
+        return photoRepository.existsByImageUrl(url)
+                || photoRepository.existsByThumbnailUrl(url)
+                || userRepository.existsByProfileImageUrl(url)
+                || albumRepository.existsByCoverPhotoUrl(url);
+    }
+
+    private static String keyOf(String url) {
+        int i = url.indexOf(FILES_PATH);
+        if (i < 0) return null;
+        String key = url.substring(i + FILES_PATH.length());
+        return key.isBlank() ? null : key;
+    }
+}
@@ -1,41 +1,79 @@
 // com.nemo.backend.domain.photo.service.S3PhotoStorage
 package com.nemo.backend.domain.photo.service;
 
+import com.nemo.backend.domain.file.FileCache;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Primary
 @Component
 public class S3PhotoStorage implements PhotoStorage {
 
+    private static final int SNIFF_BYTES = 64; // looksLikeHtmlOrJson(48) / detectMime(32) 판독에 충분한 앞부분
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final String bucket;
     private final boolean createBucketIfMissing;
     private final String region; // 실 S3 사용 시 LocationConstraint 용
+    private final int partSize;  // 스트리밍 업로드 시 멀티파트 한 조각 크기 (S3 최소 5MB)
+    private final long maxStreamBytes; // 원격 스트림 저장 상한
+    private final StoredBlobService storedBlobs;
+    private final boolean contentAddressed; // true 면 바이트 SHA-256 을 키로 쓰고 같은 내용은 한 객체를 공유
+    private final FileCache fileCache;      // /files/** 로컬 캐시 - 지운 객체는 바로 내보낸다
 
     public S3PhotoStorage(
             S3Client s3Client,
+            S3AsyncClient s3AsyncClient,
             @Value("${app.s3.bucket}") String bucket,
             @Value("${app.s3.createBucketIfMissing:false}") boolean createBucketIfMissing,
-            @Value("${app.s3.region:}") String region
+            @Value("${app.s3.region:}") String region,
+            @Value("${app.s3.multipartPartSizeMb:8}") int partSizeMb,
+            @Value("${app.s3.stream-max-mb:50}") long streamMaxMb,
+            StoredBlobService storedBlobs,
+            @Value("${app.s3.content-addressed:false}") boolean contentAddressed,
+            FileCache fileCache
     ) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
         this.bucket = bucket;
         this.createBucketIfMissing = createBucketIfMissing;
         this.region = region == null ? "" : region.trim();
+        this.partSize = Math.max(5, partSizeMb) * 1024 * 1024;
+        this.maxStreamBytes = streamMaxMb * 1024 * 1024;
+        this.storedBlobs = storedBlobs;
+        this.contentAddressed = contentAddressed;
+        this.fileCache = fileCache;
         ensureBucket();
     }
 
@@ -65,29 +103,70 @@ public class S3PhotoStorage implements PhotoStorage {
 
     @Override
     public String store(MultipartFile file) throws Exception {
-        byte[] data = file.getBytes();
+        // 앞부분만 읽어 판독 (getBytes() 로 전체를 힙에 복사하지 않는다)
+        byte[] head;
+        try (InputStream in = file.getInputStream()) {
+            head = in.readNBytes(SNIFF_BYTES);
+        }
 
         // HTML/JSON 차단
-        if (looksLikeHtmlOrJson(data)) {
+        if (looksLikeHtmlOrJson(head)) {
             throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지/영상 파일이 아닙니다(HTML/JSON 감지)");
         }
 
         String reported = file.getContentType();
-        String detected = detectMime(data);
+        String detected = detectMime(head);
         String mime = chooseMime(reported, detected, file.getOriginalFilename());
+        long size = file.getSize();
+        if (contentAddressed) {
+            // 해시를 먼저 구하고(스트리밍), 중복이 아닐 때만 스풀 파일을 다시 열어 올린다
+            String sha;
+            try (InputStream in = file.getInputStream()) {
+                sha = sha256Hex(in);
+            }
+            String key = blobKey(sha, mime);
+            acquire(key, sha, size, () -> putMultipart(key, file, mime, "inline"));
+            releaseOnRollback(key);
+            return key;
+        }
 
         String key = buildKey(mime, file.getOriginalFilename());
+        putMultipart(key, file, mime, "inline; filename=\"" + safeFilename(file.getOriginalFilename()) + "\"");
+        releaseOnRollback(key);
+        return key;
+    }
 
-        try {
+    /**
+     * 호출 측 트랜잭션(사진/프로필/앨범 저장)이 롤백되면 방금 붙인 참조를 되돌린다.
+     * 행이 생기지 않았으므로 내용 주소 모드에서는 참조가, 일반 모드에서는 객체가 남기 때문.
+     * (QR 자산은 QrAssetCache 가 재시도용으로 들고 있으므로 storeStream 에는 걸지 않는다)
+     */
+    private void releaseOnRollback(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) return;
+                try {
+                    release(key);
+                } catch (RuntimeException e) {
+                    // 일반 객체는 OrphanObjectSweeper 가 정리, 내용 주소 참조는 남는다 (객체가 안 지워지는 쪽으로만 어긋남)
+                }
+            }
+        });
+    }
+
+    /** Tomcat 이 스풀해 둔 임시 파일을 스트림으로 그대로 S3 에 올린다 (힙에는 SDK 버퍼만) */
+    private void putMultipart(String key, MultipartFile file, String mime, String disposition) {
+        try (InputStream in = file.getInputStream()) {
             PutObjectRequest req = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
                     .contentType(mime)
-                    .contentDisposition("inline; filename=\"" + safeFilename(file.getOriginalFilename()) + "\"")
+                    .contentDisposition(disposition)
                     .build();
 
-            s3Client.putObject(req, RequestBody.fromBytes(data));
-            return key;
+            s3Client.putObject(req, RequestBody.fromInputStream(in, file.getSize()));
 
         } catch (S3Exception e) {
             throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
@@ -110,6 +189,9 @@ public class S3PhotoStorage implements PhotoStorage {
 
         String detected = detectMime(data);
         String mime = chooseMime(contentType, detected, originalFilename);
+        if (contentAddressed) {
+            return storeDeduplicated(data, mime);
+        }
         String key = buildKey(mime, originalFilename);
 
         try {
@@ -120,7 +202,8 @@ public class S3PhotoStorage implements PhotoStorage {
                     .contentDisposition("inline; filename=\"" + safeFilename(originalFilename) + "\"")
                     .build();
 
-            s3Client.putObject(req, RequestBody.fromBytes(data));
+            // fromBytes 는 배열을 한 번 더 복사하므로 스트림으로 감싸서 넘긴다
+            s3Client.putObject(req, RequestBody.fromInputStream(new ByteArrayInputStream(data), data.length));
             return key;
 
         } catch (S3Exception e) {
@@ -132,6 +215,352 @@ public class S3PhotoStorage implements PhotoStorage {
         }
     }
 
+    /**
+     * 원격 스트림 저장: 첫 파트만큼 읽어 매직넘버를 판독하고,
+     * 한 파트 안에 끝나거나 크기(sizeHint)를 미리 알면 단일 PUT, 크기를 모르고 넘치면 고정 크기 파트로 멀티파트 업로드한다.
+     * sizeHint 가 stream-max-mb 를 넘으면 읽기 전에 거절하고, 크기를 모르면 올리는 중에 넘는 순간 중단한다.
+     * 힙 사용량은 파일 크기와 무관하게 파트 크기 이내로 유지된다.
+     */
+    @Override
+    public String storeStream(InputStream in, long sizeHint, String originalFilename, String contentType) throws Exception {
+        if (sizeHint > maxStreamBytes) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "파일이 너무 큽니다: " + sizeHint + " bytes");
+        }
+        byte[] chunk = in.readNBytes(partSize);
+        if (chunk.length == 0) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "빈 데이터는 저장할 수 없습니다.");
+        }
+        if (looksLikeHtmlOrJson(chunk)) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지/영상 대신 HTML/JSON 응답입니다.");
+        }
+
+        String detected = detectMime(chunk);
+        String mime = chooseMime(contentType, detected, originalFilename);
+
+        // 내용 주소 모드: 한 파트 안에 끝나면 해시 후 바로 중복 확인 (중복이면 업로드 자체를 생략)
+        if (contentAddressed && chunk.length < partSize) {
+            return storeDeduplicated(chunk, mime);
+        }
+        // 넘치면 임시 키로 흘려 올리면서 해시를 계산하고, 끝난 뒤 최종 키로 옮긴다
+        MessageDigest digest = contentAddressed ? MessageDigest.getInstance("SHA-256") : null;
+        String key = contentAddressed ? stagingKey(mime) : buildKey(mime, originalFilename);
+        String disposition = "inline; filename=\"" + safeFilename(originalFilename) + "\"";
+
+        // 1) 한 파트 안에 끝났거나 전체 크기를 아는 경우: 단일 PUT (남은 바이트는 파트로 나누지 않고 그대로 흘려 보낸다)
+        boolean fits = chunk.length < partSize;
+        if (fits || sizeHint >= chunk.length) {
+            long length = fits ? chunk.length : sizeHint;
+            InputStream body = fits ? new ByteArrayInputStream(chunk) : new SequenceInputStream(new ByteArrayInputStream(chunk), in);
+            if (digest != null) body = new DigestInputStream(body, digest);
+            try {
+                PutObjectRequest req = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(mime)
+                        .contentDisposition(disposition)
+                        .build();
+                s3Client.putObject(req, RequestBody.fromInputStream(body, length));
+                if (!fits && in.read() >= 0) {
+                    // 선언한 Content-Length 보다 길다 → 잘린 객체가 올라갔으므로 지운다
+                    deleteObject(key);
+                    throw new StorageException("원격 응답 크기가 Content-Length 와 다릅니다: " + sizeHint);
+                }
+                if (digest != null) {
+                    return promoteStaged(key, HexFormat.of().formatHex(digest.digest()), length, mime);
+                }
+                return key;
+            } catch (S3Exception e) {
+                throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
+            } catch (SdkClientException e) {
+                throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+            }
+        }
+
+        // 2) 멀티파트 업로드
+        String uploadId = null;
+        try {
+            uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(mime)
+                    .contentDisposition(disposition)
+                    .build()).uploadId();
+
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            long total = 0;
+            while (chunk.length > 0) {
+                if (digest != null) digest.update(chunk);
+                total += chunk.length;
+                if (total > maxStreamBytes) {
+                    throw new ApiException(ErrorCode.INVALID_ARGUMENT, "파일이 너무 큽니다: " + maxStreamBytes + " bytes 초과");
+                }
+                UploadPartResponse resp = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) chunk.length)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(chunk), chunk.length));
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(resp.eTag()).build());
+                partNumber++;
+
+                chunk = null; // 다음 파트를 읽는 동안 이전 파트가 힙에 남지 않도록
+                chunk = in.readNBytes(partSize);
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            if (digest != null) {
+                return promoteStaged(key, HexFormat.of().formatHex(digest.digest()), total, mime);
+            }
+            return key;
+
+        } catch (Exception e) {
+            abortQuietly(key, uploadId);
+            if (e instanceof ApiException ae) {
+                throw ae;
+            }
+            if (e instanceof S3Exception s3e) {
+                throw new StorageException("S3 업로드 실패: " + s3e.awsErrorDetails().errorMessage(), e);
+            }
+            if (e instanceof SdkClientException) {
+                throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+            }
+            throw new StorageException("파일 저장 실패: " + e.getClass().getSimpleName() + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream load(String key) {
+        try {
+            return s3Client.getObject(b -> b.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new StorageException("S3 조회 실패: " + e.awsErrorDetails().errorMessage(), e);
+        } catch (SdkClientException e) {
+            throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void storeAt(String key, byte[] data, String contentType) {
+        try {
+            PutObjectRequest req = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .build();
+            s3Client.putObject(req, RequestBody.fromInputStream(new ByteArrayInputStream(data), data.length));
+        } catch (S3Exception e) {
+            throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
+        } catch (SdkClientException e) {
+            throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    /** storeAt 의 비동기 버전 (축소본 여러 장을 동시에 올릴 때) */
+    @Override
+    public CompletableFuture<Void> storeAtAsync(String key, byte[] data, String contentType) {
+        PutObjectRequest req = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        return s3AsyncClient.putObject(req, AsyncRequestBody.fromBytes(data))
+                .handle((resp, err) -> {
+                    if (err != null) throw toStorageException(err);
+                    return null;
+                });
+    }
+
+    /**
+     * 객체 참조 해제. 내용 주소 객체(blobs/..)는 마지막 참조일 때만 지우고,
+     * 그 외 키는 객체마다 고유하므로 바로 지운다.
+     */
+    @Override
+    public void release(String key) {
+        if (key == null || key.isBlank()) return;
+        if (key.startsWith(BLOB_PREFIX)) {
+            // 참조 카운트가 없는 blobs/ 키는 공유 객체의 축소본 → 원본과 함께 지워진다
+            if (!storedBlobs.release(key)) return; // 아직 다른 사진이 참조 중
+            deleteObject(key);
+            deleteDerived(key);
+            storedBlobs.forget(key);
+            return;
+        }
+        deleteObject(key);
+    }
+
+    // ===================== 내용 주소 저장 =====================
+
+    private static final String BLOB_PREFIX = "blobs/";
+    private static final int MAX_REF_ATTEMPTS = 5;
+
+    /** 메모리에 있는 바이트: 해시 → 참조 증가 또는 (없을 때만) 업로드 */
+    private String storeDeduplicated(byte[] data, String mime) {
+        String sha = sha256Hex(data);
+        String key = blobKey(sha, mime);
+        acquire(key, sha, data.length, () -> putBytes(key, data, mime));
+        return key;
+    }
+
+    /** 임시 키로 올린 객체: 중복이면 버리고, 아니면 서버 측 복사로 최종 키에 둔다 (앱으로 바이트가 다시 오지 않음) */
+    private String promoteStaged(String stagingKey, String sha, long size, String mime) {
+        String key = blobKey(sha, mime);
+        try {
+            acquire(key, sha, size, () -> s3Client.copyObject(b -> b
+                    .sourceBucket(bucket).sourceKey(stagingKey)
+                    .destinationBucket(bucket).destinationKey(key)));
+            return key;
+        } finally {
+            deleteObject(stagingKey);
+        }
+    }
+
+    /**
+     * 참조를 하나 붙인다.
+     * - 살아 있는 행이 있으면 +1 만 하고 업로드 생략
+     * - 행이 없으면 HEAD 로 확인해 없을 때만 업로드 후 행 등록 (동시 등록 충돌 시 재시도)
+     * - 삭제 진행 중(-1)이면 끝날 때까지 잠깐 기다렸다가 다시 올린다
+     */
+    private void acquire(String key, String sha, long size, Runnable upload) {
+        for (int attempt = 0; attempt < MAX_REF_ATTEMPTS; attempt++) {
+            if (storedBlobs.addRefIfLive(key)) {
+                return;
+            }
+            if (storedBlobs.isTracked(key)) {
+                sleepQuietly(50L * (attempt + 1));
+                continue;
+            }
+            if (!objectExists(key)) {
+                upload.run();
+            }
+            try {
+                storedBlobs.register(key, sha, size);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 동시에 같은 내용이 먼저 등록됨 → 다음 시도에서 참조 증가
+            }
+        }
+        throw new StorageException("내용 주소 객체 참조 등록 실패: " + key);
+    }
+
+    private void putBytes(String key, byte[] data, String mime) {
+        try {
+            PutObjectRequest req = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(mime)
+                    .contentDisposition("inline") // 여러 업로드가 공유하므로 파일명은 넣지 않는다
+                    .build();
+            s3Client.putObject(req, RequestBody.fromInputStream(new ByteArrayInputStream(data), data.length));
+        } catch (S3Exception e) {
+            throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
+        } catch (SdkClientException e) {
+            throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean objectExists(String key) {
+        try {
+            s3Client.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return false;
+            throw new StorageException("S3 조회 실패: " + e.awsErrorDetails().errorMessage(), e);
+        }
+    }
+
+    private void deleteObject(String key) {
+        try {
+            s3Client.deleteObject(b -> b.bucket(bucket).key(key));
+            fileCache.evict(key);
+        } catch (S3Exception e) {
+            throw new StorageException("S3 삭제 실패: " + e.awsErrorDetails().errorMessage(), e);
+        } catch (SdkClientException e) {
+            throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    /** 원본 옆 파생 객체(축소본 ..._w{너비}.jpg) 정리 */
+    private void deleteDerived(String key) {
+        int dot = key.lastIndexOf('.');
+        String prefix = (dot > 0 ? key.substring(0, dot) : key) + "_w";
+        try {
+            s3Client.listObjectsV2Paginator(b -> b.bucket(bucket).prefix(prefix))
+                    .contents()
+                    .forEach(o -> deleteObject(o.key()));
+        } catch (Exception e) {
+            // 남은 축소본은 참조가 없으므로 고아 정리 대상
+        }
+    }
+
+    /** blobs/ab/abcdef....jpg (앞 2자리로 접두어 분산) */
+    private static String blobKey(String sha, String mime) {
+        return BLOB_PREFIX + sha.substring(0, 2) + "/" + sha + "." + extensionForMime(mime, null);
+    }
+
+    private static String stagingKey(String mime) {
+        return "tmp/staging/" + UUID.randomUUID() + "." + extensionForMime(mime, null);
+    }
+
+    private static String sha256Hex(InputStream in) throws IOException {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                md.update(buf, 0, n);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static StorageException toStorageException(Throwable err) {
+        Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+        if (cause instanceof S3Exception e) {
+            return new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
+        }
+        if (cause instanceof SdkClientException) {
+            return new StorageException("S3 클라이언트 오류: " + cause.getMessage(), cause);
+        }
+        return new StorageException("파일 저장 실패: " + cause.getClass().getSimpleName() + " - " + cause.getMessage(), cause);
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        if (uploadId == null) return;
+        try {
+            s3Client.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (Exception ignore) {
+            // 중단 실패 시 버킷 lifecycle(미완료 멀티파트 정리)에 맡긴다
+        }
+    }
+
     private String buildKey(String mime, String originalName) {
         String ext = extensionForMime(mime, originalName);
         String today = LocalDate.now().toString();
@@ -0,0 +1,55 @@
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.repository.StoredBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 객체 참조 카운트.
+ * S3 작업과 짝을 이루므로 사진 저장 트랜잭션과 무관하게 바로 커밋한다 (REQUIRES_NEW).
+ * 사진 저장이 롤백되면 S3PhotoStorage 가 롤백 후(afterCompletion) release 로 그 참조를 되돌린다.
+ * 되돌리기까지 실패하면 참조가 하나 남는데, 이는 객체를 지우지 않는 쪽으로만 어긋난다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StoredBlobService {
+
+    private final StoredBlobRepository storedBlobRepository;
+
+    /** 살아 있는 행이면 참조 +1 후 true (객체가 이미 있으므로 업로드 생략 가능) */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean addRefIfLive(String objectKey) {
+        return storedBlobRepository.incrementIfLive(objectKey) > 0;
+    }
+
+    /** 행이 있으면 true (삭제 진행 중 포함) */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public boolean isTracked(String objectKey) {
+        return storedBlobRepository.existsById(objectKey);
+    }
+
+    /**
+     * 참조 1 로 최초 등록. 동시에 다른 요청이 먼저 등록했으면 DataIntegrityViolationException.
+     * (예외는 호출 측에서 잡는다: 여기서 잡으면 롤백 전용 트랜잭션을 커밋하려다 실패한다)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void register(String objectKey, String sha256, long size) {
+        storedBlobRepository.insert(objectKey, sha256, size, LocalDateTime.now());
+    }
+
+    /** 참조 -1. 마지막 참조였으면 삭제 진행 중으로 선점하고 true → 호출 측이 객체 삭제 후 forget */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String objectKey) {
+        storedBlobRepository.decrement(objectKey);
+        return storedBlobRepository.claimForDelete(objectKey) > 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void forget(String objectKey) {
+        storedBlobRepository.deleteClaimed(objectKey);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nemo.backend.domain.timeline.repository;
+
+import com.nemo.backend.domain.timeline.entity.Timeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface TimelineRepository extends JpaRepository<Timeline, Long> {
+
+    // 사진 영구 삭제 시 함께 정리 (photo_id NOT NULL FK)
+    @Modifying
+    @Query("DELETE FROM Timeline t WHERE t.photo.id IN :photoIds")
+    int deleteByPhotoIds(@Param("photoIds") Collection<Long> photoIds);
+}
@@ -75,6 +75,7 @@ public class UserAuthController {
         if (image != null && !image.isEmpty()) {
             String profileUrl = userService.uploadProfileImageForSignup(image);
             request.setProfileImageUrl(profileUrl);
+            request.setProfileImageOwned(true);
         }
 
         SignUpResponse response = authService.signUp(request);
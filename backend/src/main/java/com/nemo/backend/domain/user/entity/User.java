@@ -4,7 +4,9 @@ import com.nemo.backend.global.entity.BaseEntity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_profile_image_url", columnList = "profile_image_url") // 고아 정리 참조 확인
+})
 public class User extends BaseEntity {
 
     @Id
@@ -24,6 +26,10 @@ public class User extends BaseEntity {
     @Column(name = "profile_image_url")
     private String profileImageUrl;
 
+    // 프로필 이미지를 직접 업로드해 저장 참조를 하나 잡았는지 (URL 만 넣은 경우/기존 행은 null → false)
+    @Column(name = "profile_image_owned")
+    private Boolean profileImageOwned;
+
     private String provider;
     private String socialId;
 
@@ -32,6 +38,7 @@ public class User extends BaseEntity {
     public String getPassword() { return password; }
     public String getNickname() { return nickname; }
     public String getProfileImageUrl() { return profileImageUrl; }
+    public boolean isProfileImageOwned() { return Boolean.TRUE.equals(profileImageOwned); }
     public String getProvider() { return provider; }
     public String getSocialId() { return socialId; }
 
@@ -39,6 +46,7 @@ public class User extends BaseEntity {
     public void setPassword(String password) { this.password = password; }
     public void setNickname(String nickname) { this.nickname = nickname; }
     public void setProfileImageUrl(String profileImageUrl) { this.profileImageUrl = profileImageUrl; }
+    public void setProfileImageOwned(boolean profileImageOwned) { this.profileImageOwned = profileImageOwned; }
     public void setProvider(String provider) { this.provider = provider; }
     public void setSocialId(String socialId) { this.socialId = socialId; }
 }
@@ -3,8 +3,10 @@ package com.nemo.backend.domain.user.repository;
 import com.nemo.backend.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +41,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<User> searchByNicknameOrEmail(String keyword);
     boolean existsByEmail(String email);
+
+    /**
+     * ✅ 고아 객체 정리: 주어진 URL 중 프로필 이미지로 쓰이는 것
+     */
+    @Query("SELECT u.profileImageUrl FROM User u WHERE u.profileImageUrl IN :urls")
+    List<String> findProfileImageUrlsIn(@Param("urls") Collection<String> urls);
+
+    /**
+     * ✅ 고아 객체 정리: 저장된 프로필 URL 의 '.../files/' 앞부분 종류
+     */
+    @Query("SELECT DISTINCT SUBSTRING(u.profileImageUrl, 1, LOCATE('/files/', u.profileImageUrl) + 6) FROM User u " +
+            "WHERE LOCATE('/files/', u.profileImageUrl) > 0")
+    List<String> findProfileImageUrlFilesPrefixes();
+
+    /**
+     * ✅ 교체된 프로필 이미지 해제 전 다른 사용자가 같은 URL 을 쓰는지 확인
+     */
+    boolean existsByProfileImageUrl(String profileImageUrl);
 }
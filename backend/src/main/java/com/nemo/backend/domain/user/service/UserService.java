@@ -3,6 +3,7 @@
 package com.nemo.backend.domain.user.service;
 
 import com.nemo.backend.domain.photo.service.PhotoStorage;
+import com.nemo.backend.domain.photo.service.ReplacedFileReleaser;
 import com.nemo.backend.domain.user.dto.UpdateUserRequest;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.domain.user.repository.UserRepository;
@@ -18,14 +19,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PhotoStorage photoStorage;
+    private final ReplacedFileReleaser replacedFileReleaser;
 
     private final String publicBaseUrl;  // ex) http://localhost:8080
 
     public UserService(UserRepository userRepository,
                        PhotoStorage photoStorage,
+                       ReplacedFileReleaser replacedFileReleaser,
                        @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl) {
         this.userRepository = userRepository;
         this.photoStorage = photoStorage;
+        this.replacedFileReleaser = replacedFileReleaser;
         this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
     }
 
@@ -53,7 +57,7 @@ public class UserService {
 
         if (request.getProfileImageUrl() != null && !request.getProfileImageUrl().isEmpty()) {
             // 프론트가 이미 S3 URL을 알고 있는 경우 그대로 반영
-            user.setProfileImageUrl(request.getProfileImageUrl());
+            replaceProfileImage(user, request.getProfileImageUrl(), false);
         }
 
         return user;
@@ -84,7 +88,7 @@ public class UserService {
                 // S3 업로드 후 URL 저장
                 String key = photoStorage.store(image);           // albums/..., profiles/... 등
                 String profileUrl = publicBaseUrl + "/files/" + key;
-                user.setProfileImageUrl(profileUrl);
+                replaceProfileImage(user, profileUrl, true);
             } catch (Exception e) {
                 // S3PhotoStorage 가 던지는 예외를 공통 에러 코드로 래핑
                 throw new ApiException(ErrorCode.STORAGE_FAILED,
@@ -110,7 +114,7 @@ public class UserService {
         try {
             String key = photoStorage.store(image);
             String profileUrl = publicBaseUrl + "/files/" + key;
-            user.setProfileImageUrl(profileUrl);
+            replaceProfileImage(user, profileUrl, true);
             return profileUrl;
         } catch (Exception e) {
             throw new ApiException(ErrorCode.STORAGE_FAILED, "프로필 이미지 업로드 실패: " + e.getMessage(), e);
@@ -145,4 +149,12 @@ public class UserService {
         }
     }
 
+    // 이전 프로필 이미지는 커밋 후 저장 참조 해제 (직접 업로드해 참조를 잡은 이미지만)
+    //  - owned: 이번에 업로드해서 참조를 하나 잡았는지 (URL 만 넣은 경우 false)
+    private void replaceProfileImage(User user, String profileUrl, boolean owned) {
+        if (!owned && profileUrl.equals(user.getProfileImageUrl())) return; // 같은 URL 재지정 → 그대로 둔다
+        replacedFileReleaser.releaseAfterCommit(user.getProfileImageUrl(), user.isProfileImageOwned());
+        user.setProfileImageUrl(profileUrl);
+        user.setProfileImageOwned(owned);
+    }
 }
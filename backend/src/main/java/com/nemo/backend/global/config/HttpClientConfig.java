@@ -0,0 +1,26 @@
+package com.nemo.backend.global.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * QR 크롤러용 공유 HttpClient.
+     * - 커넥션 풀(keep-alive) 재사용 → 같은 벤더 호스트는 TLS 재핸드셰이크 없이 요청
+     * - HTTP/2 우선, 벤더가 지원하지 않으면 HTTP/1.1 로 자동 협상
+     * - 리다이렉트/쿠키는 크롤러가 요청 단위로 직접 처리하므로 여기선 끈다
+     */
+    @Bean(name = "qrHttpClient")
+    public HttpClient qrHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+}
@@ -13,8 +13,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 /**
  * ✅ 스프링 시큐리티 설정
- * - 공개 경로: H2 콘솔, Swagger, 파일, 헬스체크, 회원가입/로그인, 이메일 인증, 비밀번호 재설정, 토큰 재발급, dev 시드
- * - 인증 필요: 그 외 /api/** 전체 (ex. /api/users/me, /api/photos, /api/albums, /api/friends ...)
+ * - 공개 경로: H2 콘솔, Swagger, 파일, 헬스체크(/actuator/health, info), 회원가입/로그인, 이메일 인증, 비밀번호 재설정, 토큰 재발급, dev 시드
+ * - 인증 필요: 그 외 /api/** 전체 (ex. /api/users/me, /api/photos, /api/albums, /api/friends ...), 나머지 /actuator/** (metrics 등)
  * - 매 요청마다 JWT 필터로 토큰을 검증하고, 성공 시 SecurityContext에 UserPrincipal 저장
  */
 @Configuration
@@ -38,7 +38,9 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/files/**",
-                                "/actuator/**",
+                                "/actuator/health",
+                                "/actuator/health/**",
+                                "/actuator/info",
 
                                 "/api/users/signup",
                                 "/api/users/login",
@@ -58,6 +60,9 @@ public class SecurityConfig {
                         // 🔒 그 외 모든 /api/** 는 인증 필요
                         .requestMatchers("/api/**").authenticated()
 
+                        // 🔒 지표(JVM/DB/캐시/라우트)는 외부에 공개하지 않는다
+                        .requestMatchers("/actuator/**").authenticated()
+
                         // 그 밖의 정적 리소스 등은 일단 허용
                         .anyRequest().permitAll()
                 )
@@ -1,16 +1,28 @@
 package com.nemo.backend.web;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 
-/** 프론트 명세: { "content": [...], "page": {...} } */
+/**
+ * 프론트 명세: { "content": [...], "page": {...} }
+ * 커서 모드(?cursor=)에서는 nextCursor 를 함께 내려준다 (마지막 페이지면 null → 필드 생략).
+ * 커서 모드는 COUNT 를 하지 않으므로 page.totalElements / totalPages 는 -1.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PagedResponse<T> {
     private List<T> content;
     private PageMetaDto page;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public PagedResponse(List<T> content, PageMetaDto page) {
+        this(content, page, null);
+    }
 }
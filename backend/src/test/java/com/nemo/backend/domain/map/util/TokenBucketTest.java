@@ -0,0 +1,67 @@
+package com.nemo.backend.domain.map.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void burstQueuedDuringPauseIsSpacedAfterPause() throws Exception {
+        TokenBucket bucket = new TokenBucket(20, 5); // 50ms 간격, 버킷은 가득 찬 상태
+        int callers = 5;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            long start = System.nanoTime();
+            bucket.pause(200);
+
+            List<Future<Long>> done = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                done.add(pool.submit(() -> {
+                    bucket.acquire();
+                    return System.nanoTime();
+                }));
+            }
+            List<Long> at = new ArrayList<>();
+            for (Future<Long> f : done) at.add(f.get(5, TimeUnit.SECONDS));
+            at.sort(null);
+
+            assertTrue(at.get(0) - start >= 200 * MS, "pause 가 끝나기 전에 나감");
+            for (int i = 1; i < at.size(); i++) {
+                assertTrue(at.get(i) - at.get(i - 1) >= 40 * MS,
+                        "pause 뒤 호출이 한꺼번에 나감: gap=" + (at.get(i) - at.get(i - 1)) / MS + "ms");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void waiterSleepingWhenPausedWaitsForPause() throws Exception {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        bucket.acquire(); // 토큰 소진 → 다음 호출은 100ms 대기
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.nanoTime();
+            Future<Long> waiter = pool.submit(() -> {
+                bucket.acquire();
+                return System.nanoTime();
+            });
+            Thread.sleep(20);
+            bucket.pause(300);
+
+            assertTrue(waiter.get(5, TimeUnit.SECONDS) - start >= 300 * MS, "대기 중에 걸린 pause 를 무시함");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}